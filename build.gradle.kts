@@ -24,6 +24,13 @@ repositories {
     mavenCentral()
 }
 
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output + configurations.runtimeClasspath.get()
+        runtimeClasspath += sourceSets.main.get().output + configurations.runtimeClasspath.get()
+    }
+}
+
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
@@ -37,8 +44,11 @@ dependencies {
     runtimeOnly("io.jsonwebtoken:jjwt-jackson:0.11.5")
 
     implementation("org.springframework.security:spring-security-crypto:6.0.2")
+    runtimeOnly("org.bouncycastle:bcprov-jdk18on:1.78.1")
 
     runtimeOnly("org.postgresql:postgresql:42.6.0")
+    implementation("org.flywaydb:flyway-core")
+    runtimeOnly("org.flywaydb:flyway-database-postgresql")
     testImplementation("com.h2database:h2:2.2.220")
 
     compileOnly("org.projectlombok:lombok")
@@ -49,6 +59,12 @@ dependencies {
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("io.micrometer:micrometer-registry-prometheus")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-csv")
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+    "jmhRuntimeOnly"("com.h2database:h2:2.2.220")
 }
 
 tasks.register<Test>("unitTest") {
@@ -69,6 +85,15 @@ tasks.register<Test>("functionalTest") {
     }
 }
 
+tasks.register<JavaExec>("jmh") {
+    description = "Runs JMH benchmarks. Pass JMH options with -PjmhArgs=\"...\"."
+    group = "verification"
+
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+    args = (project.findProperty("jmhArgs") as String?)?.split(" ") ?: emptyList()
+}
+
 tasks.withType<Test>().configureEach {
     useJUnitPlatform()
 }
@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Starts the service RUNS times with the old schema handling (Hibernate ddl-auto=update, no
+# Flyway) and RUNS times with the current one (Flyway migrate + ddl-auto=validate), all against
+# the same, already migrated database, and prints the "Started ... in N seconds" time of each
+# start. Needs a built jar and the usual DATABASE_* and JWT_* variables in the environment or
+# .env. Logs are kept under perf/results/.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=${JAR:-build/libs/authentication-0.0.1-SNAPSHOT.jar}
+PORT=${PORT:-8080}
+RUNS=${RUNS:-5}
+mkdir -p perf/results
+
+start_once() {
+    local log=$1
+    shift
+    java ${JAVA_OPTS:-} -jar "$JAR" --server.port="$PORT" "$@" > "$log" 2>&1 &
+    local app=$!
+    until grep -q "Started AuthenticationApplication in" "$log"; do
+        if ! kill -0 "$app" 2>/dev/null; then
+            echo "Startup failed, see $log" >&2
+            exit 1
+        fi
+        sleep 0.2
+    done
+    kill "$app"
+    wait "$app" 2>/dev/null || true
+    grep -o "Started AuthenticationApplication in [0-9.]* seconds" "$log" | grep -o "[0-9.]*" | head -1
+}
+
+# Brings the schema up to date so both modes start against the same tables.
+start_once perf/results/startup-migrate.log > /dev/null
+
+for mode in update validate; do
+    if [ "$mode" = update ]; then
+        args=(--spring.flyway.enabled=false --spring.jpa.hibernate.ddl-auto=update)
+    else
+        args=()
+    fi
+    times=()
+    for run in $(seq "$RUNS"); do
+        times+=("$(start_once "perf/results/startup-$mode-$run.log" "${args[@]}")")
+    done
+    echo "ddl-auto=$mode: ${times[*]} s"
+done
@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Runs perf/profile-load.js once with platform threads and once with virtual threads and keeps
+# both k6 summaries under perf/results/. Needs a built jar, k6, and the usual DATABASE_* and
+# JWT_* variables in the environment or .env. EMAIL/PASSWORD must be an existing account.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=${JAR:-build/libs/authentication-0.0.1-SNAPSHOT.jar}
+PORT=${PORT:-8080}
+mkdir -p perf/results
+
+for mode in false true; do
+    echo "== VIRTUAL_THREADS_ENABLED=$mode"
+    VIRTUAL_THREADS_ENABLED=$mode java ${JAVA_OPTS:-} -jar "$JAR" --server.port="$PORT" > "perf/results/app-virtual-$mode.log" 2>&1 &
+    app=$!
+    trap 'kill $app 2>/dev/null || true' EXIT
+
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/.well-known/jwks.json")" = "200" ]; do
+        sleep 1
+    done
+
+    k6 run -e BASE_URL="http://localhost:$PORT" \
+        --summary-export "perf/results/summary-virtual-$mode.json" \
+        perf/profile-load.js
+
+    kill "$app"
+    wait "$app" 2>/dev/null || true
+done
+
+echo "Summaries written to perf/results/"
@@ -0,0 +1,64 @@
+// Load test for the authenticated read path and login, used to compare the platform-thread
+// and virtual-thread request modes. Run against a running instance:
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e EMAIL=... -e PASSWORD=... perf/profile-load.js
+//
+// Reports throughput (http_reqs) and p95/p99 latency per endpoint.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = Number(__ENV.VUS || 400);
+const DURATION = __ENV.DURATION || '60s';
+
+export const options = {
+    scenarios: {
+        profile: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: DURATION,
+            exec: 'profile',
+        },
+        login: {
+            executor: 'constant-arrival-rate',
+            rate: Number(__ENV.LOGIN_RATE || 20),
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 50,
+            exec: 'login',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_duration{scenario:profile}': ['p(99)<500'],
+        'http_req_failed{scenario:profile}': ['rate<0.01'],
+    },
+};
+
+function credentials() {
+    return JSON.stringify({ email: __ENV.EMAIL, password: __ENV.PASSWORD });
+}
+
+export function setup() {
+    const res = http.post(`${BASE_URL}/auth/login`, credentials(), {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    check(res, { 'setup login ok': (r) => r.status === 200 });
+    return { token: res.json('token') };
+}
+
+export function profile(data) {
+    const res = http.get(`${BASE_URL}/profile`, {
+        headers: { Authorization: `Bearer ${data.token}` },
+        tags: { endpoint: 'profile' },
+    });
+    check(res, { 'profile 200': (r) => r.status === 200 });
+}
+
+export function login() {
+    const res = http.post(`${BASE_URL}/auth/login`, credentials(), {
+        headers: { 'Content-Type': 'application/json' },
+        tags: { endpoint: 'login' },
+    });
+    check(res, { 'login 200 or 503': (r) => r.status === 200 || r.status === 503 });
+}
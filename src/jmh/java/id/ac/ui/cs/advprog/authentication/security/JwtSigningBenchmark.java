@@ -0,0 +1,71 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Sign and verify throughput of the shared-secret HS512 setup against ES256.
+ * Run with {@code -PjmhArgs="JwtSigningBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    private static final String SECRET =
+            "qqFQ/tEeaSlcEwUtG+l30VGNjd+z2BfA5Y5QWsiZWHEFhDgB6kw2YODG9f6cIGn44/DtjmZNxUPH97+YDpR/Ng==";
+
+    @Param({"HS512", "ES256"})
+    public String algorithm;
+
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtSigningKey signingKey;
+        if ("ES256".equals(algorithm)) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = generator.generateKeyPair();
+            signingKey = JwtSigningKey.ecdsa(
+                    Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()),
+                    Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        } else {
+            signingKey = JwtSigningKey.hmac(SECRET);
+        }
+        provider = new JwtTokenProvider(new JwtKeyRingSource(JwtKeyRing.of(signingKey)),
+                new VerifiedTokenCache(false, 0, new SimpleMeterRegistry()));
+        token = provider.generateToken("00000000-0000-0000-0000-000000000001", "USER");
+    }
+
+    @Benchmark
+    public String sign() {
+        return provider.generateToken("00000000-0000-0000-0000-000000000001", "USER");
+    }
+
+    @Benchmark
+    public JwtPrincipal verify() {
+        return provider.parseToken(token);
+    }
+}
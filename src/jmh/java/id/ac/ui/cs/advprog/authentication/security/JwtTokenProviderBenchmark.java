@@ -0,0 +1,61 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Per-request verification cost. Run with {@code -PjmhArgs="JwtTokenProviderBenchmark -prof gc"}
+ * to compare the allocation rate of the cached parser against rebuilding key and parser per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET =
+            "qqFQ/tEeaSlcEwUtG+l30VGNjd+z2BfA5Y5QWsiZWHEFhDgB6kw2YODG9f6cIGn44/DtjmZNxUPH97+YDpR/Ng==";
+
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider(new JwtKeyRingSource(JwtKeyRing.of(JwtSigningKey.hmac(SECRET))),
+                new VerifiedTokenCache(false, 0, new SimpleMeterRegistry()));
+        token = provider.generateToken("00000000-0000-0000-0000-000000000001", "USER");
+    }
+
+    @Benchmark
+    public JwtPrincipal parseToken() {
+        return provider.parseToken(token);
+    }
+
+    /** What every call used to do: decode the secret, build a key and a parser, then parse. */
+    @Benchmark
+    public Claims rebuildKeyAndParserPerCall() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,102 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import id.ac.ui.cs.advprog.authentication.AuthenticationApplication;
+import id.ac.ui.cs.advprog.authentication.dto.ProfileResponseDto;
+import id.ac.ui.cs.advprog.authentication.dto.UserProfileView;
+import id.ac.ui.cs.advprog.authentication.model.User;
+import id.ac.ui.cs.advprog.authentication.repository.UserRepository;
+
+/**
+ * Profile read through a full entity load against the column projection, on an in-memory H2
+ * database. Run with {@code -PjmhArgs="ProfileReadBenchmark -prof gc"} to compare allocation per
+ * read as well as latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProfileReadBenchmark {
+
+    private static final int USERS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private List<UUID> ids;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AuthenticationApplication.class)
+                // Command-line arguments, so they win over application.properties.
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--CORS_ALLOWED_ORIGIN=http://localhost:3000",
+                        "--JWT_SECRET=qqFQ/tEeaSlcEwUtG+l30VGNjd+z2BfA5Y5QWsiZWHEFhDgB6kw2YODG9f6cIGn44/DtjmZNxUPH97+YDpR/Ng==");
+        userRepository = context.getBean(UserRepository.class);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User("User " + i, "user" + i + "@example.com", "0812345678",
+                    "$2a$10$abcdefghijklmnopqrstuuFakeHashForBenchmarkOnly0123456", "Address " + i));
+        }
+        ids = userRepository.saveAll(users).stream().map(User::getId).toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private UUID nextId() {
+        next = (next + 1) % USERS;
+        return ids.get(next);
+    }
+
+    /** The old path: load the managed entity, password hash included, then copy fields out. */
+    @Benchmark
+    public ProfileResponseDto entityLoad() {
+        User user = userRepository.findById(nextId()).orElseThrow();
+        return ProfileResponseDto.builder()
+                .fullName(user.getFullName())
+                .email(user.getEmail())
+                .phoneNumber(user.getPhoneNumber())
+                .address(user.getAddress())
+                .profilePhoto(user.getProfilePhoto())
+                .role("USER")
+                .version(user.getVersion())
+                .build();
+    }
+
+    @Benchmark
+    public ProfileResponseDto projection() {
+        return userRepository.findProfileById(nextId())
+                .map(UserProfileView::toResponse)
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,121 @@
+package id.ac.ui.cs.advprog.authentication.util;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to insert {@code rows} rows keyed by random v4 against time-ordered v7 UUIDs, in JDBC
+ * batches, into a table with a UUID primary key. On PostgreSQL the size of the primary-key index
+ * is printed after each run. Without {@code bench.jdbc.url} it runs on in-memory H2, which only
+ * checks that the benchmark works; for real numbers point it at a scratch PostgreSQL database:
+ *
+ * <pre>
+ * -PjmhArgs="UuidKeyInsertBenchmark -p rows=10000000
+ *     -jvmArgs -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/bench?reWriteBatchedInserts=true
+ *     -jvmArgs -Dbench.jdbc.user=postgres -jvmArgs -Dbench.jdbc.password=postgres"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 3)
+@Fork(1)
+public class UuidKeyInsertBenchmark {
+
+    private static final String TABLE = "uuid_key_bench";
+
+    @Param({"v4", "v7"})
+    public String keys;
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"1000"})
+    public int batchSize;
+
+    private Connection connection;
+    private boolean postgres;
+
+    @Setup(Level.Trial)
+    public void connect() throws SQLException {
+        String url = System.getProperty("bench.jdbc.url", "jdbc:h2:mem:uuid_bench;DB_CLOSE_DELAY=-1");
+        connection = DriverManager.getConnection(url,
+                System.getProperty("bench.jdbc.user", "sa"),
+                System.getProperty("bench.jdbc.password", ""));
+        connection.setAutoCommit(false);
+        postgres = url.startsWith("jdbc:postgresql:");
+    }
+
+    @Setup(Level.Iteration)
+    public void createTable() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + TABLE);
+            statement.execute("create table " + TABLE + " (id uuid primary key, payload varchar(64) not null)");
+        }
+        connection.commit();
+    }
+
+    @Benchmark
+    public void insert() throws SQLException {
+        boolean ordered = "v7".equals(keys);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into " + TABLE + " (id, payload) values (?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setObject(1, ordered ? UuidV7Generator.next() : UUID.randomUUID());
+                insert.setString(2, "account-" + i);
+                insert.addBatch();
+                if (i % batchSize == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportIndexSize() throws SQLException {
+        if (!postgres) {
+            return;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(
+                     "select pg_relation_size('" + TABLE + "_pkey'), pg_relation_size('" + TABLE + "')")) {
+            result.next();
+            System.out.printf("%n%s primary key index: %d MiB, table: %d MiB%n",
+                    keys, result.getLong(1) >> 20, result.getLong(2) >> 20);
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + TABLE);
+        }
+        connection.commit();
+        connection.close();
+    }
+}
@@ -0,0 +1,68 @@
+package id.ac.ui.cs.advprog.authentication.config;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migration 4: copies accounts that have no row in {@code credentials} yet from the admins,
+ * technicians and users tables, i.e. accounts written by versions of the service from before the
+ * credentials table. When the same email exists in several tables, the admin wins over the
+ * technician over the user, matching the order login used to check them in.
+ */
+@Component
+public class CredentialBackfill implements JavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(CredentialBackfill.class);
+
+    private static final String INSERT_MISSING = """
+            INSERT INTO credentials (account_id, email, role, password_hash, hash_algorithm, hash_cost, version, created_at)
+            SELECT p.id, p.email, '%s', p.password, 'bcrypt',
+                   CASE WHEN p.password LIKE '$2_$__$%%' THEN CAST(SUBSTRING(p.password, 5, 2) AS INTEGER) END,
+                   0, CURRENT_TIMESTAMP
+            FROM %s p
+            WHERE NOT EXISTS (
+                SELECT 1 FROM credentials c WHERE c.account_id = p.id OR c.email = p.email
+            )
+            """;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("4");
+    }
+
+    @Override
+    public String getDescription() {
+        return "backfill credentials";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return INSERT_MISSING.hashCode();
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        backfill(new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true)));
+    }
+
+    static void backfill(JdbcTemplate jdbcTemplate) {
+        int admins = jdbcTemplate.update(INSERT_MISSING.formatted("ADMIN", "admins"));
+        int technicians = jdbcTemplate.update(INSERT_MISSING.formatted("TECHNICIAN", "technicians"));
+        int users = jdbcTemplate.update(INSERT_MISSING.formatted("USER", "users"));
+        if (admins + technicians + users > 0) {
+            log.info("Backfilled credentials for {} admins, {} technicians and {} users",
+                    admins, technicians, users);
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package id.ac.ui.cs.advprog.authentication.config;
 
 import id.ac.ui.cs.advprog.authentication.model.Admin;
+import id.ac.ui.cs.advprog.authentication.model.Credential;
 import id.ac.ui.cs.advprog.authentication.repository.AdminRepository;
+import id.ac.ui.cs.advprog.authentication.repository.CredentialRepository;
+import id.ac.ui.cs.advprog.authentication.security.PasswordHasher;
+import id.ac.ui.cs.advprog.authentication.util.EmailNormalizer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCrypt;
 
 @Configuration
 public class DataLoader {
@@ -14,16 +17,21 @@ public class DataLoader {
     @Bean
     CommandLineRunner loadAdmin(
             AdminRepository adminRepository,
+            CredentialRepository credentialRepository,
+            PasswordHasher passwordHasher,
             @Value("${DEFAULT_ADMIN_NAME:Admin}") String adminName,
             @Value("${DEFAULT_ADMIN_EMAIL:admin@example.com}") String adminEmail,
             @Value("${DEFAULT_ADMIN_PHONE:0000000000}") String adminPhone,
             @Value("${DEFAULT_ADMIN_PASSWORD:ChangeMe123!}") String adminRawPassword
     ) {
+        String email = EmailNormalizer.normalize(adminEmail);
         return args -> {
-            if (adminRepository.findByEmail(adminEmail).isEmpty()) {
-                String hashedPassword = BCrypt.hashpw(adminRawPassword, BCrypt.gensalt());
-                Admin admin = new Admin(adminName, adminEmail, adminPhone, hashedPassword);
+            // Runs after the migrations, so every existing account already has a credential.
+            if (!credentialRepository.existsByEmail(email)) {
+                String hashedPassword = passwordHasher.hash(adminRawPassword);
+                Admin admin = new Admin(adminName, email, adminPhone, hashedPassword);
                 adminRepository.save(admin);
+                credentialRepository.save(new Credential(admin.getId(), email, "ADMIN", hashedPassword));
                 System.out.println("Default admin account created from environment variables.");
             } else {
                 System.out.println("Admin account already exists.");
@@ -0,0 +1,16 @@
+package id.ac.ui.cs.advprog.authentication.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lets Spring Boot create the {@code CacheManager} for whichever store is on the classpath and
+ * selected with {@code spring.cache.type} (e.g. Redis). Only needed for the distributed profile
+ * cache; the local one does not go through Spring's cache abstraction.
+ */
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(name = "PROFILE_CACHE_TYPE", havingValue = "distributed")
+public class DistributedCacheConfig {
+}
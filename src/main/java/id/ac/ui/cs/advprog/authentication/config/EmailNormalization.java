@@ -0,0 +1,95 @@
+package id.ac.ui.cs.advprog.authentication.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migration 5: rewrites emails stored before registration normalized them into the lower-case
+ * form login and registration now use, so the unique index on {@code email} also rules out case
+ * variants. A row is only rewritten when no other row in its table has the same normalized email.
+ * Collisions are left untouched and logged, one line per account, for an admin to resolve; until
+ * then the colliding accounts not already in lower case cannot sign in. Runs after
+ * {@link CredentialBackfill}, so backfilled credentials are normalized too.
+ */
+@Component
+public class EmailNormalization implements JavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailNormalization.class);
+
+    /** Table and primary key column of every table with a unique email. */
+    private static final String[][] TABLES = {
+            {"credentials", "account_id"},
+            {"admins", "id"},
+            {"technicians", "id"},
+            {"users", "id"}
+    };
+
+    private static final String NORMALIZE = """
+            UPDATE %1$s t SET email = LOWER(TRIM(t.email)), version = t.version + 1
+            WHERE t.email <> LOWER(TRIM(t.email))
+              AND NOT EXISTS (
+                  SELECT 1 FROM %1$s o WHERE o.%2$s <> t.%2$s AND LOWER(TRIM(o.email)) = LOWER(TRIM(t.email))
+              )
+            """;
+
+    private static final String COLLISIONS = """
+            SELECT %2$s AS id, email FROM %1$s
+            WHERE email <> LOWER(TRIM(email))
+            ORDER BY LOWER(TRIM(email)), email
+            """;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("5");
+    }
+
+    @Override
+    public String getDescription() {
+        return "normalize emails";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return (NORMALIZE + COLLISIONS).hashCode();
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        for (Collision collision : normalize(jdbcTemplate)) {
+            log.warn("Email {} of {} row {} differs only in case from another row's; left unchanged",
+                    collision.email(), collision.table(), collision.id());
+        }
+    }
+
+    /** Normalizes what it can and returns the rows left unchanged because of a collision. */
+    static List<Collision> normalize(JdbcTemplate jdbcTemplate) {
+        List<Collision> collisions = new ArrayList<>();
+        for (String[] table : TABLES) {
+            int normalized = jdbcTemplate.update(NORMALIZE.formatted(table[0], table[1]));
+            if (normalized > 0) {
+                log.info("Normalized {} emails in {}", normalized, table[0]);
+            }
+            collisions.addAll(jdbcTemplate.query(COLLISIONS.formatted(table[0], table[1]),
+                    (rs, rowNum) -> new Collision(table[0], rs.getObject("id"), rs.getString("email"))));
+        }
+        return collisions;
+    }
+
+    record Collision(String table, Object id, String email) {
+    }
+}
@@ -8,6 +8,10 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${CORS_ALLOWED_ORIGIN}")
     private String allowedOrigin;
 
+    /** Longest a streamed response may take; the container default of 30 seconds is too short. */
+    @Value("${ASYNC_REQUEST_TIMEOUT_MS:120000}")
+    private long asyncRequestTimeoutMs;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -16,4 +20,9 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncRequestTimeoutMs);
+    }
 }
@@ -0,0 +1,217 @@
+package id.ac.ui.cs.advprog.authentication.controller;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import id.ac.ui.cs.advprog.authentication.dto.AccountPage;
+import id.ac.ui.cs.advprog.authentication.dto.AccountSummary;
+import id.ac.ui.cs.advprog.authentication.dto.ImportReport;
+import id.ac.ui.cs.advprog.authentication.dto.TechnicianRegistrationDto;
+import id.ac.ui.cs.advprog.authentication.dto.UserRegistrationDto;
+import id.ac.ui.cs.advprog.authentication.exception.InvalidRequestException;
+import id.ac.ui.cs.advprog.authentication.model.AccountType;
+import id.ac.ui.cs.advprog.authentication.service.AccountDirectoryService;
+import id.ac.ui.cs.advprog.authentication.service.AccountImportService;
+
+/**
+ * Admin-only listing, export and bulk import of accounts. Listing pages through a cursor; export
+ * streams every account as NDJSON or CSV while the rows are being read.
+ */
+@RestController
+@RequestMapping("/admin/accounts")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminAccountController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private final AccountDirectoryService accountDirectoryService;
+    private final AccountImportService accountImportService;
+    private final ObjectMapper objectMapper;
+    private final long exportTimeoutMs;
+
+    @Autowired
+    public AdminAccountController(AccountDirectoryService accountDirectoryService,
+                                  AccountImportService accountImportService,
+                                  ObjectMapper objectMapper,
+                                  @Value("${ACCOUNT_EXPORT_TIMEOUT_MS:-1}") long exportTimeoutMs) {
+        this.accountDirectoryService = accountDirectoryService;
+        this.accountImportService = accountImportService;
+        this.objectMapper = objectMapper;
+        this.exportTimeoutMs = exportTimeoutMs;
+    }
+
+    @GetMapping("/{type}")
+    public ResponseEntity<AccountPage> listAccounts(
+            @PathVariable String type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(accountDirectoryService.listAccounts(AccountType.fromPlural(type), cursor, limit));
+    }
+
+    @GetMapping("/{type}/export")
+    public ResponseEntity<StreamingResponseBody> exportAccounts(
+            @PathVariable String type,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request) {
+        AccountType accountType = AccountType.fromPlural(type);
+
+        StreamingResponseBody body;
+        MediaType contentType;
+        switch (format.toLowerCase()) {
+            case "ndjson" -> {
+                body = out -> writeNdjson(accountType, out);
+                contentType = NDJSON;
+            }
+            case "csv" -> {
+                body = out -> writeCsv(accountType, out);
+                contentType = CSV;
+            }
+            default -> throw InvalidRequestException.UNSUPPORTED_EXPORT_FORMAT;
+        }
+
+        // An export takes as long as the table is large; zero or less means no time limit.
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeoutMs);
+
+        String filename = accountType.getTable() + "." + format.toLowerCase();
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Registers users or technicians in bulk. The body is a JSON array, NDJSON or, with
+     * {@code Content-Type: text/csv}, CSV with a header row naming the registration fields. It is
+     * parsed while the import runs rather than read up front.
+     */
+    @PostMapping("/{type}/import")
+    public ResponseEntity<ImportReport> importAccounts(
+            @PathVariable String type,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body) throws IOException {
+        AccountType accountType = AccountType.fromPlural(type);
+        boolean csv = contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(CSV);
+
+        ImportReport report;
+        switch (accountType) {
+            case USER -> {
+                try (MappingIterator<UserRegistrationDto> records = readRecords(body, csv, UserRegistrationDto.class)) {
+                    report = accountImportService.importUsers(records);
+                }
+            }
+            case TECHNICIAN -> {
+                try (MappingIterator<TechnicianRegistrationDto> records =
+                             readRecords(body, csv, TechnicianRegistrationDto.class)) {
+                    report = accountImportService.importTechnicians(records);
+                }
+            }
+            default -> throw InvalidRequestException.IMPORT_NOT_ALLOWED;
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    private <T> MappingIterator<T> readRecords(InputStream body, boolean csv, Class<T> recordType) throws IOException {
+        if (csv) {
+            return CSV_MAPPER.readerFor(recordType)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(body);
+        }
+        // Reads the elements of a top-level array as well as whitespace-separated values.
+        return objectMapper.readerFor(recordType).readValues(body);
+    }
+
+    private void writeNdjson(AccountType type, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.setRootValueSeparator(null);
+            accountDirectoryService.exportAccounts(type, account -> {
+                try {
+                    json.writeObject(account);
+                    json.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void writeCsv(AccountType type, OutputStream out) throws IOException {
+        try (Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            csv.write("id,role,fullName,email,phoneNumber,createdAt\r\n");
+            accountDirectoryService.exportAccounts(type, account -> {
+                try {
+                    writeCsvRow(csv, account);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private static void writeCsvRow(Writer csv, AccountSummary account) throws IOException {
+        csv.write(account.id().toString());
+        csv.write(',');
+        csv.write(account.role());
+        csv.write(',');
+        csv.write(csvField(account.fullName()));
+        csv.write(',');
+        csv.write(csvField(account.email()));
+        csv.write(',');
+        csv.write(csvField(account.phoneNumber()));
+        csv.write(',');
+        csv.write(account.createdAt().toString());
+        csv.write("\r\n");
+    }
+
+    /**
+     * RFC 4180 quoting: fields holding a comma, quote or line break are quoted, quotes doubled.
+     * A field starting with {@code = + - @}, tab or carriage return gets a leading {@code '} so a
+     * spreadsheet shows it as text instead of evaluating it as a formula.
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,40 @@
+package id.ac.ui.cs.advprog.authentication.controller;
+
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import id.ac.ui.cs.advprog.authentication.exception.ServiceException;
+import id.ac.ui.cs.advprog.authentication.security.LoginThrottledException;
+import id.ac.ui.cs.advprog.authentication.security.PasswordHashingOverloadedException;
+
+/**
+ * Maps every {@link ServiceException} to its status in one place, so controllers only handle
+ * the success path. Bodies come ready-made from the exception; nothing is built per error.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(ServiceException.class)
+    public ResponseEntity<Map<String, String>> handleServiceException(ServiceException e) {
+        return ResponseEntity.badRequest().body(e.getBody());
+    }
+
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<Map<String, String>> handleHashingOverload(PasswordHashingOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getBody());
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<Map<String, String>> handleLoginThrottled(LoginThrottledException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getBody());
+    }
+}
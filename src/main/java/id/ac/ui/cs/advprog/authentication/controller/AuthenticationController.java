@@ -1,12 +1,14 @@
 package id.ac.ui.cs.advprog.authentication.controller;
 
 import jakarta.annotation.security.PermitAll;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.security.Principal;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.BindingResult;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import id.ac.ui.cs.advprog.authentication.dto.AuthRequest;
 import id.ac.ui.cs.advprog.authentication.dto.AuthResponse;
 import id.ac.ui.cs.advprog.authentication.dto.ChangePasswordDto;
+import id.ac.ui.cs.advprog.authentication.dto.RefreshRequest;
 import id.ac.ui.cs.advprog.authentication.dto.TechnicianRegistrationDto;
 import id.ac.ui.cs.advprog.authentication.dto.UserRegistrationDto;
 import id.ac.ui.cs.advprog.authentication.service.AuthenticationService;
@@ -35,18 +38,27 @@ public class AuthenticationController {
     @PostMapping("/login")
     public ResponseEntity<?> login(
             @Valid @RequestBody AuthRequest request,
-            BindingResult bindingResult) {
+            BindingResult bindingResult,
+            HttpServletRequest httpRequest) {
         if (bindingResult.hasErrors()) {
             return ResponseEntity.badRequest()
                     .body(mapValidationErrors(bindingResult));
         }
-        try {
-            AuthResponse response = authService.login(request);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
+        return ResponseEntity.ok(response);
+    }
+
+    @PermitAll
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(
+            @Valid @RequestBody RefreshRequest request,
+            BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
             return ResponseEntity.badRequest()
-                    .body(Map.of("error", e.getMessage()));
+                    .body(mapValidationErrors(bindingResult));
         }
+        AuthResponse response = authService.refresh(request.getRefreshToken());
+        return ResponseEntity.ok(response);
     }
 
     @PermitAll
@@ -58,13 +70,8 @@ public class AuthenticationController {
             return ResponseEntity.badRequest()
                     .body(mapValidationErrors(bindingResult));
         }
-        try {
-            authService.registerUser(dto);
-            return ResponseEntity.ok().build();
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest()
-                    .body(Map.of("error", e.getMessage()));
-        }
+        authService.registerUser(dto);
+        return ResponseEntity.ok().build();
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -76,13 +83,8 @@ public class AuthenticationController {
             return ResponseEntity.badRequest()
                     .body(mapValidationErrors(bindingResult));
         }
-        try {
-            authService.registerTechnician(dto);
-            return ResponseEntity.ok().build();
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest()
-                    .body(Map.of("error", e.getMessage()));
-        }
+        authService.registerTechnician(dto);
+        return ResponseEntity.ok().build();
     }
 
     @PreAuthorize("isAuthenticated()")
@@ -95,16 +97,25 @@ public class AuthenticationController {
             return ResponseEntity.badRequest()
                     .body(mapValidationErrors(bindingResult));
         }
-        try {
-            authService.changePassword(
-                    principal.getName(),
-                    dto.getOldPassword(),
-                    dto.getNewPassword());
-            return ResponseEntity.ok().build();
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest()
-                    .body(Map.of("error", e.getMessage()));
-        }
+        authService.changePassword(
+                principal.getName(),
+                dto.getOldPassword(),
+                dto.getNewPassword());
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Revokes the access token used for this request and, when given, the refresh token family
+     * from the same login.
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @RequestBody(required = false) RefreshRequest request) {
+        String accessToken = authorization.startsWith("Bearer ") ? authorization.substring(7) : authorization;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.ok().build();
     }
 
     private Map<String, String> mapValidationErrors(BindingResult bindingResult) {
@@ -0,0 +1,45 @@
+package id.ac.ui.cs.advprog.authentication.controller;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import id.ac.ui.cs.advprog.authentication.security.JwtTokenProvider;
+
+/**
+ * Publishes the public token-signing keys so other services can verify access tokens locally.
+ */
+@RestController
+public class JwksController {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final CacheControl cacheControl;
+
+    @Autowired
+    public JwksController(
+            JwtTokenProvider jwtTokenProvider,
+            @Value("${JWKS_MAX_AGE_SECONDS:300}") long maxAgeSeconds
+    ) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+    }
+
+    /** Requests carrying a matching If-None-Match get a 304 from Spring's ETag handling. */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<?> getJwks() {
+        List<Map<String, Object>> keys = jwtTokenProvider.getPublicJwks();
+        String etag = "\"" + Integer.toHexString(keys.hashCode()) + "\"";
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(etag)
+                .body(Map.of("keys", keys));
+    }
+}
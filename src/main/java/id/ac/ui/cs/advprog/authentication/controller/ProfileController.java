@@ -1,22 +1,36 @@
 package id.ac.ui.cs.advprog.authentication.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.ac.ui.cs.advprog.authentication.dto.ProfileBatchRequest;
+import id.ac.ui.cs.advprog.authentication.dto.ProfileResponseDto;
 import id.ac.ui.cs.advprog.authentication.dto.ProfileUpdateDto;
 import id.ac.ui.cs.advprog.authentication.service.ProfileService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/profile")
 public class ProfileController {
 
     private final ProfileService profileService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ProfileController(ProfileService profileService) {
+    public ProfileController(ProfileService profileService, ObjectMapper objectMapper) {
         this.profileService = profileService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -24,14 +38,9 @@ public class ProfileController {
         String userId = extractUserId(authentication);
         String role   = extractRole(authentication);
 
-        try {
-            Object profile = profileService.getProfile(userId, role);
-            return ResponseEntity.ok(profile);
-        } catch (Exception e) {
-            return ResponseEntity
-                    .badRequest()
-                    .body(e.getMessage());
-        }
+        ProfileResponseDto profile = profileService.getProfile(userId, role);
+        // With an ETag set, a matching If-None-Match is answered 304 without writing the body.
+        return withETag(ResponseEntity.ok(), userId, profile).body(profile);
     }
 
     @PutMapping
@@ -42,14 +51,52 @@ public class ProfileController {
         String userId = extractUserId(authentication);
         String role   = extractRole(authentication);
 
-        try {
-            Object updatedProfile = profileService.updateProfile(dto, userId, role);
-            return ResponseEntity.ok(updatedProfile);
-        } catch (Exception e) {
-            return ResponseEntity
-                    .badRequest()
-                    .body(e.getMessage());
+        ProfileResponseDto updatedProfile = profileService.updateProfile(dto, userId, role);
+        return withETag(ResponseEntity.ok(), userId, updatedProfile).body(updatedProfile);
+    }
+
+    /**
+     * Public profiles of many users and technicians in one call, for services rendering lists.
+     * Each profile is written as it is read, so memory stays flat however large the batch; the
+     * size limit is checked first, while an error can still be returned.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<StreamingResponseBody> getProfiles(@RequestBody ProfileBatchRequest request) {
+        Set<UUID> ids = request.getIds() == null ? Set.of() : new LinkedHashSet<>(request.getIds());
+        profileService.checkBatchSize(ids.size());
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                profileService.forEachPublicProfile(ids, profile -> {
+                    try {
+                        json.writeObject(profile);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Strong ETag from the account id and row version. The id keeps two accounts polling the
+     * same URL from ever matching each other's tag. {@code private, no-cache} replaces Spring
+     * Security's default {@code no-store}, so clients keep the body and revalidate it.
+     */
+    private ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder,
+                                                String userId,
+                                                ProfileResponseDto profile) {
+        if (profile.getVersion() == null) {
+            return builder;
         }
+        return builder
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag("\"" + userId + "-" + profile.getVersion() + "\"");
     }
 
     private String extractUserId(Authentication authentication) {
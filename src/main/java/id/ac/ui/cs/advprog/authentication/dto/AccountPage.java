@@ -0,0 +1,7 @@
+package id.ac.ui.cs.advprog.authentication.dto;
+
+import java.util.List;
+
+/** A page of accounts and the cursor for the next one, {@code null} after the last page. */
+public record AccountPage(List<AccountSummary> items, String nextCursor) {
+}
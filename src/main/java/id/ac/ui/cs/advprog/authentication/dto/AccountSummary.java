@@ -0,0 +1,15 @@
+package id.ac.ui.cs.advprog.authentication.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** One account as listed and exported for admins; never carries the password hash. */
+public record AccountSummary(
+        UUID id,
+        String role,
+        String fullName,
+        String email,
+        String phoneNumber,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,20 @@
+package id.ac.ui.cs.advprog.authentication.dto;
+
+/** Profile columns of an {@code admins} row; see {@link UserProfileView}. */
+public record AdminProfileView(
+        String fullName,
+        String email,
+        String phoneNumber,
+        Long version
+) {
+
+    public ProfileResponseDto toResponse() {
+        return ProfileResponseDto.builder()
+                .fullName(fullName)
+                .email(email)
+                .phoneNumber(phoneNumber)
+                .role("ADMIN")
+                .version(version)
+                .build();
+    }
+}
@@ -1,15 +1,24 @@
 package id.ac.ui.cs.advprog.authentication.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.Generated;
 
 @Generated
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class AuthResponse {
     
     private String token;
 
+    private String refreshToken;
+
     public AuthResponse(String token) {
         this.token = token;
     }
+
+    public AuthResponse(String token, String refreshToken) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+    }
 }
@@ -0,0 +1,12 @@
+package id.ac.ui.cs.advprog.authentication.dto;
+
+import java.util.List;
+
+/** Per-record results of a bulk import, in input order, with totals. */
+public record ImportReport(int created, int failed, List<ImportRowResult> rows) {
+
+    public static ImportReport of(List<ImportRowResult> rows) {
+        int created = (int) rows.stream().filter(ImportRowResult::created).count();
+        return new ImportReport(created, rows.size() - created, rows);
+    }
+}
@@ -0,0 +1,18 @@
+package id.ac.ui.cs.advprog.authentication.dto;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/** Outcome of one imported record: the new account id, or why it was not created. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportRowResult(int row, String email, boolean created, UUID id, String error) {
+
+    public static ImportRowResult created(int row, String email, UUID id) {
+        return new ImportRowResult(row, email, true, id, null);
+    }
+
+    public static ImportRowResult failed(int row, String email, String error) {
+        return new ImportRowResult(row, email, false, null, error);
+    }
+}
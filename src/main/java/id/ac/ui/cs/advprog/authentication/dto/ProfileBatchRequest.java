@@ -0,0 +1,13 @@
+package id.ac.ui.cs.advprog.authentication.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.Data;
+import lombok.Generated;
+
+@Generated
+@Data
+public class ProfileBatchRequest {
+    private List<UUID> ids;
+}
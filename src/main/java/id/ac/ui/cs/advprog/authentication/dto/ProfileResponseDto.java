@@ -1,5 +1,8 @@
 package id.ac.ui.cs.advprog.authentication.dto;
 
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,7 +16,10 @@ import lombok.Generated;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class ProfileResponseDto {
+public class ProfileResponseDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     private String fullName;
     private String email;
     private String phoneNumber;
@@ -23,4 +29,8 @@ public class ProfileResponseDto {
     private Integer totalJobsCompleted;
     private Double totalEarnings;
     private String role;
+
+    /** Version of the profile row this was built from; sent as the ETag, not in the body. */
+    @JsonIgnore
+    private Long version;
 }
@@ -0,0 +1,24 @@
+package id.ac.ui.cs.advprog.authentication.dto;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Fields of a user or technician profile that other services may show, as returned by
+ * {@code POST /profile/batch}. Contact details and earnings are left out.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PublicProfileView(
+        UUID id,
+        String role,
+        String fullName,
+        String profilePhoto,
+        Integer experience,
+        Integer totalJobsCompleted
+) {
+
+    public PublicProfileView(UUID id, String role, String fullName, String profilePhoto) {
+        this(id, role, fullName, profilePhoto, null, null);
+    }
+}
@@ -0,0 +1,12 @@
+package id.ac.ui.cs.advprog.authentication.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.Generated;
+
+@Generated
+@Data
+public class RefreshRequest {
+    @NotBlank(message = "Refresh token must not be blank")
+    private String refreshToken;
+}
@@ -0,0 +1,30 @@
+package id.ac.ui.cs.advprog.authentication.dto;
+
+/** Profile columns of a {@code technicians} row; see {@link UserProfileView}. */
+public record TechnicianProfileView(
+        String fullName,
+        String email,
+        String phoneNumber,
+        String address,
+        String profilePhoto,
+        Integer experience,
+        int totalJobsCompleted,
+        double totalEarnings,
+        Long version
+) {
+
+    public ProfileResponseDto toResponse() {
+        return ProfileResponseDto.builder()
+                .fullName(fullName)
+                .email(email)
+                .phoneNumber(phoneNumber)
+                .address(address)
+                .profilePhoto(profilePhoto)
+                .experience(experience)
+                .totalJobsCompleted(totalJobsCompleted)
+                .totalEarnings(totalEarnings)
+                .role("TECHNICIAN")
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package id.ac.ui.cs.advprog.authentication.dto;
+
+/**
+ * Profile columns of a {@code users} row, projected by the query itself so reads never load the
+ * entity, its password hash or a dirty-checking snapshot.
+ */
+public record UserProfileView(
+        String fullName,
+        String email,
+        String phoneNumber,
+        String address,
+        String profilePhoto,
+        Long version
+) {
+
+    public ProfileResponseDto toResponse() {
+        return ProfileResponseDto.builder()
+                .fullName(fullName)
+                .email(email)
+                .phoneNumber(phoneNumber)
+                .address(address)
+                .profilePhoto(profilePhoto)
+                .role("USER")
+                .version(version)
+                .build();
+    }
+}
@@ -11,10 +11,12 @@ import lombok.Generated;
 @Data
 public class UserRegistrationDto {
     @NotBlank(message = "Full name is required")
+    @Size(max = 255, message = "Full name must be at most 255 characters")
     private String fullName;
 
     @NotBlank(message = "Email is required")
     @Email(message = "Must be a well-formed email address")
+    @Size(max = 255, message = "Email must be at most 255 characters")
     private String email;
 
     @NotBlank(message = "Phone number is required")
@@ -29,5 +31,6 @@ public class UserRegistrationDto {
     private String password;
 
     @NotBlank(message = "Address is required")
+    @Size(max = 255, message = "Address must be at most 255 characters")
     private String address;
 }
@@ -0,0 +1,13 @@
+package id.ac.ui.cs.advprog.authentication.exception;
+
+/** The authenticated account no longer has a profile row. */
+public final class AccountNotFoundException extends ServiceException {
+
+    public static final AccountNotFoundException USER = new AccountNotFoundException("User not found");
+    public static final AccountNotFoundException TECHNICIAN = new AccountNotFoundException("Technician not found");
+    public static final AccountNotFoundException ADMIN = new AccountNotFoundException("Admin not found");
+
+    private AccountNotFoundException(String message) {
+        super(message);
+    }
+}
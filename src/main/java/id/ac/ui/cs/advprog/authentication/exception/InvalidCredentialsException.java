@@ -0,0 +1,18 @@
+package id.ac.ui.cs.advprog.authentication.exception;
+
+/** The email or password given to sign in or change a password is wrong. */
+public final class InvalidCredentialsException extends ServiceException {
+
+    /**
+     * Unknown email and wrong password share one answer so the response does not tell whether an
+     * account exists.
+     */
+    public static final InvalidCredentialsException INVALID_LOGIN =
+            new InvalidCredentialsException("Invalid email or password");
+    public static final InvalidCredentialsException WRONG_OLD_PASSWORD =
+            new InvalidCredentialsException("Old password is incorrect");
+
+    private InvalidCredentialsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package id.ac.ui.cs.advprog.authentication.exception;
+
+/** The refresh token is unknown, already used or expired. */
+public final class InvalidRefreshTokenException extends ServiceException {
+
+    public static final InvalidRefreshTokenException INVALID =
+            new InvalidRefreshTokenException("Invalid refresh token");
+    public static final InvalidRefreshTokenException REUSED =
+            new InvalidRefreshTokenException("Refresh token reuse detected; please log in again");
+    public static final InvalidRefreshTokenException EXPIRED =
+            new InvalidRefreshTokenException("Refresh token has expired");
+
+    private InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
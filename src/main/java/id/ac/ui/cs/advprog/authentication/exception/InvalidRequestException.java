@@ -0,0 +1,34 @@
+package id.ac.ui.cs.advprog.authentication.exception;
+
+/** The request is well-formed but cannot be carried out as asked. */
+public final class InvalidRequestException extends ServiceException {
+
+    public static final InvalidRequestException WEAK_PASSWORD = new InvalidRequestException(
+            "Password must be ≥8 characters and include a digit, uppercase letter, and special character");
+    public static final InvalidRequestException EMAIL_IN_USE =
+            new InvalidRequestException("Email is already in use");
+    public static final InvalidRequestException CONCURRENT_PASSWORD_CHANGE =
+            new InvalidRequestException("Password was changed concurrently; please try again");
+    public static final InvalidRequestException CONCURRENT_PROFILE_UPDATE =
+            new InvalidRequestException("Profile was changed concurrently; please try again");
+    public static final InvalidRequestException PROFILE_UPDATE_NOT_ALLOWED =
+            new InvalidRequestException("Profile update not allowed for this role");
+    public static final InvalidRequestException PROFILE_RETRIEVAL_NOT_ALLOWED =
+            new InvalidRequestException("Profile retrieval not allowed for this role");
+    public static final InvalidRequestException BATCH_TOO_LARGE =
+            new InvalidRequestException("Too many ids in one batch");
+    public static final InvalidRequestException UNKNOWN_ACCOUNT_TYPE =
+            new InvalidRequestException("Account type must be users, technicians or admins");
+    public static final InvalidRequestException INVALID_CURSOR =
+            new InvalidRequestException("Invalid page cursor");
+    public static final InvalidRequestException UNSUPPORTED_EXPORT_FORMAT =
+            new InvalidRequestException("Export format must be ndjson or csv");
+    public static final InvalidRequestException IMPORT_NOT_ALLOWED =
+            new InvalidRequestException("Only users and technicians can be imported");
+    public static final InvalidRequestException RECORD_REJECTED =
+            new InvalidRequestException("Record was rejected by the database");
+
+    private InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package id.ac.ui.cs.advprog.authentication.exception;
+
+import java.util.Map;
+
+/**
+ * Base for expected failures such as a wrong password or a missing account. These are routine
+ * under normal and hostile traffic alike, so instances skip the stack trace and suppression
+ * bookkeeping, and each carries its response body ready-made. Subclasses expose their cases as
+ * shared constants; being immutable and stackless, one instance can be thrown from any thread.
+ */
+public abstract class ServiceException extends RuntimeException {
+
+    private final transient Map<String, String> body;
+
+    protected ServiceException(String message) {
+        super(message, null, false, false);
+        this.body = Map.of("error", message);
+    }
+
+    /** The {@code {"error": ...}} body returned to the client. */
+    public Map<String, String> getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,34 @@
+package id.ac.ui.cs.advprog.authentication.model;
+
+import id.ac.ui.cs.advprog.authentication.exception.InvalidRequestException;
+
+/** The three kinds of account, each kept in its own table. */
+public enum AccountType {
+    USER("users"),
+    TECHNICIAN("technicians"),
+    ADMIN("admins");
+
+    private final String table;
+
+    AccountType(String table) {
+        this.table = table;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Parses the plural form used in URLs, e.g. {@code technicians}.
+     *
+     * @throws InvalidRequestException if it names no account type
+     */
+    public static AccountType fromPlural(String name) {
+        for (AccountType type : values()) {
+            if (type.table.equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        throw InvalidRequestException.UNKNOWN_ACCOUNT_TYPE;
+    }
+}
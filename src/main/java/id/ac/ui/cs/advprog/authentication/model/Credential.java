@@ -0,0 +1,108 @@
+package id.ac.ui.cs.advprog.authentication.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.Generated;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Login identity of an admin, technician or user, kept apart from the wide profile rows so
+ * login, password change and registration checks only read this narrow table. The primary key
+ * is the id of the profile row the credential belongs to.
+ */
+@Entity
+@Table(name = "credentials", indexes = @Index(name = "idx_credentials_created_at", columnList = "created_at"))
+@Generated
+@Data
+public class Credential {
+
+    public static final String BCRYPT = "bcrypt";
+
+    @Id
+    @Column(name = "account_id", updatable = false, nullable = false)
+    private UUID accountId;
+
+    @Column(name = "email", nullable = false, unique = true)
+    private String email;
+
+    @Column(name = "role", nullable = false, length = 16)
+    private String role;
+
+    @Column(name = "password_hash", nullable = false)
+    private String passwordHash;
+
+    @Column(name = "hash_algorithm", nullable = false, length = 32)
+    private String hashAlgorithm;
+
+    @Column(name = "hash_cost")
+    private Integer hashCost;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    public Credential() {
+    }
+
+    public Credential(UUID accountId, String email, String role, String passwordHash) {
+        this.accountId = accountId;
+        this.email = email;
+        this.role = role;
+        this.createdAt = Instant.now();
+        updatePasswordHash(passwordHash);
+    }
+
+    /**
+     * Replaces the hash and records the parameters it was made with, read from the hash itself:
+     * the {@code {id}} prefix (none for legacy bcrypt) and its main cost factor.
+     */
+    public void updatePasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+        String id = null;
+        String encoded = passwordHash;
+        if (passwordHash != null && passwordHash.startsWith("{") && passwordHash.indexOf('}') > 0) {
+            id = passwordHash.substring(1, passwordHash.indexOf('}'));
+            encoded = passwordHash.substring(id.length() + 2);
+        }
+        if (id == null || id.equals(BCRYPT)) {
+            this.hashAlgorithm = BCRYPT;
+            this.hashCost = bcryptCost(encoded);
+        } else if (id.contains("@")) {
+            this.hashAlgorithm = id.substring(0, id.indexOf('@'));
+            this.hashCost = parseIntOrNull(id.substring(id.indexOf('@') + 1));
+        } else {
+            this.hashAlgorithm = id;
+            this.hashCost = argon2Iterations(encoded);
+        }
+    }
+
+    /** Cost factor of a {@code $2a$10$...} style hash, or {@code null} if it is not bcrypt. */
+    static Integer bcryptCost(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$') {
+            return null;
+        }
+        return parseIntOrNull(hash.substring(4, 6));
+    }
+
+    /** The {@code t=} iteration count of a {@code $argon2id$v=19$m=...,t=2,p=1$...} hash. */
+    static Integer argon2Iterations(String hash) {
+        int start = hash == null ? -1 : hash.indexOf("t=");
+        if (start < 0) {
+            return null;
+        }
+        int end = hash.indexOf(',', start);
+        return parseIntOrNull(hash.substring(start + 2, end < 0 ? hash.length() : end));
+    }
+
+    private static Integer parseIntOrNull(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
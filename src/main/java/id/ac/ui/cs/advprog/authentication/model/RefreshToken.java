@@ -0,0 +1,62 @@
+package id.ac.ui.cs.advprog.authentication.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.Generated;
+import org.hibernate.annotations.UuidGenerator;
+import id.ac.ui.cs.advprog.authentication.util.UuidV7Generator;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Opaque refresh token, stored only as a SHA-256 hash. Every rotation issues a new token in the
+ * same family and marks the old one used; presenting a used token again revokes the family.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_account_id", columnList = "account_id"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+@Generated
+@Data
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
+
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "role", nullable = false)
+    private String role;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "used", nullable = false)
+    private boolean used = false;
+
+    @Column(name = "revoked", nullable = false)
+    private boolean revoked = false;
+
+    public RefreshToken() {
+    }
+
+    public RefreshToken(String tokenHash, UUID familyId, UUID accountId, String role, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.accountId = accountId;
+        this.role = role;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,39 @@
+package id.ac.ui.cs.advprog.authentication.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.Generated;
+import java.time.Instant;
+
+/**
+ * Access token revoked before its expiry, keyed by its {@code jti}. Rows are only useful until
+ * {@code expiresAt}; after that the token is rejected on expiry anyway and the row is purged.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+@Generated
+@Data
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_id", updatable = false, nullable = false, length = 64)
+    private String tokenId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String tokenId, Instant expiresAt, Instant revokedAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+}
@@ -3,18 +3,21 @@ package id.ac.ui.cs.advprog.authentication.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.Generated;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UuidGenerator;
+import id.ac.ui.cs.advprog.authentication.util.UuidV7Generator;
+import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "technicians")
+@Table(name = "technicians", indexes = @Index(name = "idx_technicians_created_at_id", columnList = "created_at, id"))
 @Generated
 @Data
 public class Technician {
 
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name="UUID", strategy="org.hibernate.id.UUIDGenerator")
+    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name="id", updatable = false, nullable = false)
     private UUID id;
 
@@ -45,6 +48,17 @@ public class Technician {
     @Column(name = "profile_photo")
     private String profilePhoto = "default-technician.png";
 
+    /** Existing rows get the time the column was added; with the id it is the admin listing's sort key. */
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt = Instant.now();
+
+    /** Bumped on every profile change; doubles as the profile's ETag. */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public Technician() {
     }
 
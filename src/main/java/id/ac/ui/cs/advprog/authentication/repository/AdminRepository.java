@@ -4,11 +4,27 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import id.ac.ui.cs.advprog.authentication.dto.AdminProfileView;
 import id.ac.ui.cs.advprog.authentication.model.Admin;
 
 @Repository
 public interface AdminRepository extends JpaRepository<Admin, UUID> {
+    /** Exact match; emails are stored normalized, so pass one through {@code EmailNormalizer} first. */
     Optional<Admin> findByEmail(String email);
+
+    @Query("""
+            select new id.ac.ui.cs.advprog.authentication.dto.AdminProfileView(
+            a.fullName, a.email, a.phoneNumber, a.version)
+            from Admin a where a.id = :id
+            """)
+    Optional<AdminProfileView> findProfileById(@Param("id") UUID id);
+
+    @Modifying
+    @Query("update Admin a set a.password = :password where a.id = :id")
+    int updatePassword(@Param("id") UUID id, @Param("password") String password);
 }
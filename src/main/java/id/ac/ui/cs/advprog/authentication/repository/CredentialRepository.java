@@ -0,0 +1,34 @@
+package id.ac.ui.cs.advprog.authentication.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import id.ac.ui.cs.advprog.authentication.model.Credential;
+
+@Repository
+public interface CredentialRepository extends JpaRepository<Credential, UUID> {
+    /** Exact match; emails are stored normalized, so pass one through {@code EmailNormalizer} first. */
+    Optional<Credential> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    /** Must be consumed inside a transaction and closed. */
+    @Query("select c.email from Credential c")
+    Stream<String> streamAllEmails();
+
+    @Query("select c.email from Credential c where c.createdAt > :since")
+    List<String> findEmailsCreatedAfter(Instant since);
+
+    /** Which of {@code emails} are taken, in one query. */
+    @Query("select c.email from Credential c where c.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+}
@@ -1,14 +1,68 @@
 package id.ac.ui.cs.advprog.authentication.repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import id.ac.ui.cs.advprog.authentication.dto.PublicProfileView;
+import id.ac.ui.cs.advprog.authentication.dto.TechnicianProfileView;
 import id.ac.ui.cs.advprog.authentication.model.Technician;
 
 @Repository
 public interface TechnicianRepository extends JpaRepository<Technician, UUID> {
+    /** Exact match; emails are stored normalized, so pass one through {@code EmailNormalizer} first. */
     Optional<Technician> findByEmail(String email);
+
+    @Query("""
+            select new id.ac.ui.cs.advprog.authentication.dto.TechnicianProfileView(
+            t.fullName, t.email, t.phoneNumber, t.address, t.profilePhoto,
+            t.experience, t.totalJobsCompleted, t.totalEarnings, t.version)
+            from Technician t where t.id = :id
+            """)
+    Optional<TechnicianProfileView> findProfileById(@Param("id") UUID id);
+
+    /**
+     * Public profile fields of every technician among {@code ids}, in one IN query. Must be
+     * consumed inside a transaction and closed.
+     */
+    @Query("""
+            select new id.ac.ui.cs.advprog.authentication.dto.PublicProfileView(
+            t.id, 'TECHNICIAN', t.fullName, t.profilePhoto, t.experience, t.totalJobsCompleted)
+            from Technician t where t.id in :ids
+            """)
+    Stream<PublicProfileView> streamPublicProfilesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Applies the non-null arguments in one statement, only if the row is still at
+     * {@code version}, and bumps the version. Returns 0 when the row changed or is gone.
+     */
+    @Modifying
+    @Query("""
+            update Technician t set
+            t.fullName = coalesce(:fullName, t.fullName),
+            t.phoneNumber = coalesce(:phoneNumber, t.phoneNumber),
+            t.address = coalesce(:address, t.address),
+            t.profilePhoto = coalesce(:profilePhoto, t.profilePhoto),
+            t.experience = coalesce(:experience, t.experience),
+            t.version = t.version + 1
+            where t.id = :id and t.version = :version
+            """)
+    int updateProfile(@Param("id") UUID id,
+                      @Param("version") Long version,
+                      @Param("fullName") String fullName,
+                      @Param("phoneNumber") String phoneNumber,
+                      @Param("address") String address,
+                      @Param("profilePhoto") String profilePhoto,
+                      @Param("experience") Integer experience);
+
+    @Modifying
+    @Query("update Technician t set t.password = :password where t.id = :id")
+    int updatePassword(@Param("id") UUID id, @Param("password") String password);
 }
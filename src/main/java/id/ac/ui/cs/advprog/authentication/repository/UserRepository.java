@@ -1,14 +1,70 @@
 package id.ac.ui.cs.advprog.authentication.repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import id.ac.ui.cs.advprog.authentication.dto.PublicProfileView;
+import id.ac.ui.cs.advprog.authentication.dto.UserProfileView;
 import id.ac.ui.cs.advprog.authentication.model.User;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
+    /** Exact match; emails are stored normalized, so pass one through {@code EmailNormalizer} first. */
     Optional<User> findByEmail(String email);
+
+    /**
+     * Selects only the columns the profile response needs, straight into a record. Written as
+     * JPQL rather than derived so Hibernate caches the compiled query instead of rebuilding it.
+     */
+    @Query("""
+            select new id.ac.ui.cs.advprog.authentication.dto.UserProfileView(
+            u.fullName, u.email, u.phoneNumber, u.address, u.profilePhoto, u.version)
+            from User u where u.id = :id
+            """)
+    Optional<UserProfileView> findProfileById(@Param("id") UUID id);
+
+    /**
+     * Public profile fields of every user among {@code ids}, in one IN query. Must be
+     * consumed inside a transaction and closed.
+     */
+    @Query("""
+            select new id.ac.ui.cs.advprog.authentication.dto.PublicProfileView(
+            u.id, 'USER', u.fullName, u.profilePhoto)
+            from User u where u.id in :ids
+            """)
+    Stream<PublicProfileView> streamPublicProfilesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Applies the non-null arguments in one statement, only if the row is still at
+     * {@code version}, and bumps the version. Returns 0 when the row changed or is gone.
+     */
+    @Modifying
+    @Query("""
+            update User u set
+            u.fullName = coalesce(:fullName, u.fullName),
+            u.phoneNumber = coalesce(:phoneNumber, u.phoneNumber),
+            u.address = coalesce(:address, u.address),
+            u.profilePhoto = coalesce(:profilePhoto, u.profilePhoto),
+            u.version = u.version + 1
+            where u.id = :id and u.version = :version
+            """)
+    int updateProfile(@Param("id") UUID id,
+                      @Param("version") Long version,
+                      @Param("fullName") String fullName,
+                      @Param("phoneNumber") String phoneNumber,
+                      @Param("address") String address,
+                      @Param("profilePhoto") String profilePhoto);
+
+    /** Keeps the legacy password column in step with {@code credentials} without loading the row. */
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") UUID id, @Param("password") String password);
 }
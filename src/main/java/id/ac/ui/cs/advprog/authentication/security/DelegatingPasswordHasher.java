@@ -0,0 +1,162 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link PasswordHasher} that writes {@code {bcrypt}}, {@code {argon2id}} or
+ * {@code {pbkdf2@<iterations>}} prefixed hashes. bcrypt and Argon2 keep their cost in the hash
+ * itself; PBKDF2 hashes do not, so the iteration count is part of the id. Unprefixed hashes are
+ * the plain bcrypt hashes written before the prefix existed; they verify and are always
+ * reported as needing a rehash.
+ *
+ * <p>With {@code PASSWORD_HASH_CALIBRATE=true} the cost of the selected algorithm is raised at
+ * startup until a verify takes about {@code PASSWORD_HASH_TARGET_MS} on this machine.
+ */
+@Component
+public class DelegatingPasswordHasher implements PasswordHasher {
+
+    private static final Logger log = LoggerFactory.getLogger(DelegatingPasswordHasher.class);
+
+    static final String BCRYPT = "bcrypt";
+    static final String ARGON2 = "argon2id";
+    static final String PBKDF2 = "pbkdf2";
+
+    private static final int MAX_BCRYPT_COST = 16;
+    private static final int MAX_ARGON2_ITERATIONS = 10;
+
+    /** Verifies bcrypt hashes of any cost; only its encode side uses the strength. */
+    private static final BCryptPasswordEncoder BCRYPT_VERIFIER = new BCryptPasswordEncoder();
+
+    private final String idForEncode;
+    private final PasswordEncoder encoderForEncode;
+    private final Argon2PasswordEncoder argon2Verifier;
+    private final Map<Integer, PasswordEncoder> pbkdf2ByIterations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DelegatingPasswordHasher(
+            @Value("${PASSWORD_HASH_ALGORITHM:bcrypt}") String algorithm,
+            @Value("${BCRYPT_COST:10}") int bcryptCost,
+            @Value("${ARGON2_MEMORY_KB:19456}") int argon2MemoryKb,
+            @Value("${ARGON2_ITERATIONS:2}") int argon2Iterations,
+            @Value("${ARGON2_PARALLELISM:1}") int argon2Parallelism,
+            @Value("${PBKDF2_ITERATIONS:600000}") int pbkdf2Iterations,
+            @Value("${PASSWORD_HASH_CALIBRATE:false}") boolean calibrate,
+            @Value("${PASSWORD_HASH_TARGET_MS:250}") long targetMs
+    ) {
+        Duration target = Duration.ofMillis(targetMs);
+        this.argon2Verifier = argon2(argon2MemoryKb, argon2Iterations, argon2Parallelism);
+
+        switch (algorithm.toLowerCase()) {
+            case BCRYPT -> {
+                int cost = calibrate
+                        ? PasswordHashCalibrator.calibrateStepwise(BCryptPasswordEncoder::new, bcryptCost, MAX_BCRYPT_COST, target)
+                        : bcryptCost;
+                this.idForEncode = BCRYPT;
+                this.encoderForEncode = new BCryptPasswordEncoder(cost);
+                logSelected(calibrate, "bcrypt cost " + cost, target);
+            }
+            case ARGON2 -> {
+                int iterations = calibrate
+                        ? PasswordHashCalibrator.calibrateStepwise(
+                                t -> argon2(argon2MemoryKb, t, argon2Parallelism), argon2Iterations, MAX_ARGON2_ITERATIONS, target)
+                        : argon2Iterations;
+                this.idForEncode = ARGON2;
+                this.encoderForEncode = argon2(argon2MemoryKb, iterations, argon2Parallelism);
+                logSelected(calibrate, "argon2id m=" + argon2MemoryKb + " t=" + iterations + " p=" + argon2Parallelism, target);
+            }
+            case PBKDF2 -> {
+                int iterations = calibrate
+                        ? PasswordHashCalibrator.calibrateLinear(DelegatingPasswordHasher::pbkdf2, pbkdf2Iterations, target)
+                        : pbkdf2Iterations;
+                this.idForEncode = PBKDF2 + "@" + iterations;
+                this.encoderForEncode = pbkdf2ByIterations.computeIfAbsent(iterations, DelegatingPasswordHasher::pbkdf2);
+                logSelected(calibrate, "PBKDF2-HMAC-SHA256 " + iterations + " iterations", target);
+            }
+            default -> throw new IllegalArgumentException("Unsupported PASSWORD_HASH_ALGORITHM: " + algorithm);
+        }
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return "{" + idForEncode + "}" + encoderForEncode.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String storedHash) {
+        if (storedHash == null) {
+            return false;
+        }
+        String id = extractId(storedHash);
+        PasswordEncoder verifier = id == null ? BCRYPT_VERIFIER : verifierFor(id);
+        return verifier != null && verifier.matches(rawPassword, extractEncoded(storedHash, id));
+    }
+
+    @Override
+    public boolean needsRehash(String storedHash) {
+        String id = extractId(storedHash);
+        if (!idForEncode.equals(id)) {
+            return true;
+        }
+        return encoderForEncode.upgradeEncoding(extractEncoded(storedHash, id));
+    }
+
+    private PasswordEncoder verifierFor(String id) {
+        if (BCRYPT.equals(id)) {
+            return BCRYPT_VERIFIER;
+        }
+        if (ARGON2.equals(id)) {
+            return argon2Verifier;
+        }
+        if (id.startsWith(PBKDF2 + "@")) {
+            try {
+                return pbkdf2ByIterations.computeIfAbsent(
+                        Integer.parseInt(id.substring(PBKDF2.length() + 1)), DelegatingPasswordHasher::pbkdf2);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static String extractId(String storedHash) {
+        if (storedHash == null || !storedHash.startsWith("{")) {
+            return null;
+        }
+        int end = storedHash.indexOf('}');
+        return end < 0 ? null : storedHash.substring(1, end);
+    }
+
+    private static String extractEncoded(String storedHash, String id) {
+        return id == null ? storedHash : storedHash.substring(id.length() + 2);
+    }
+
+    /** Argon2 hashes embed their parameters, so one instance verifies hashes made with any settings. */
+    private static Argon2PasswordEncoder argon2(int memoryKb, int iterations, int parallelism) {
+        return new Argon2PasswordEncoder(16, 32, parallelism, memoryKb, iterations);
+    }
+
+    private static PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder("", 16, iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    private static void logSelected(boolean calibrated, String parameters, Duration target) {
+        if (calibrated) {
+            log.info("Calibrated password hashing to {} for a {} ms verify target", parameters, target.toMillis());
+        } else {
+            log.info("Password hashing uses {}", parameters);
+        }
+    }
+}
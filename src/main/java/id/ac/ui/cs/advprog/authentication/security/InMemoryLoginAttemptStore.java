@@ -0,0 +1,126 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Per-node {@link LoginAttemptStore}. Each key holds a lock-free sliding-window counter: the
+ * counts of the current and previous fixed window, with the previous one weighted by how much
+ * of it still overlaps the sliding window. The key map is a size-bounded Caffeine cache, so a
+ * spray of distinct emails or addresses evicts old keys instead of growing without limit.
+ */
+@Component
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private final Cache<String, SlidingWindowCounter> counters;
+    private final long windowMillis;
+    private final Clock clock;
+
+    @Autowired
+    public InMemoryLoginAttemptStore(
+            @Value("${LOGIN_FAILURE_WINDOW_SECONDS:900}") long windowSeconds,
+            @Value("${LOGIN_ATTEMPT_MAX_KEYS:100000}") long maxKeys
+    ) {
+        this(Duration.ofSeconds(windowSeconds), maxKeys, Clock.systemUTC());
+    }
+
+    InMemoryLoginAttemptStore(Duration window, long maxKeys, Clock clock) {
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window.multipliedBy(2))
+                .build();
+    }
+
+    @Override
+    public long failures(String key) {
+        SlidingWindowCounter counter = counters.getIfPresent(key);
+        return counter == null ? 0 : counter.estimate(clock.millis(), windowMillis);
+    }
+
+    @Override
+    public boolean tryAcquire(String key, long limit) {
+        return counters.get(key, k -> new SlidingWindowCounter()).tryIncrement(clock.millis(), windowMillis, limit);
+    }
+
+    @Override
+    public void release(String key) {
+        SlidingWindowCounter counter = counters.getIfPresent(key);
+        if (counter != null) {
+            counter.decrement(clock.millis(), windowMillis);
+        }
+    }
+
+    @Override
+    public void reset(String key) {
+        counters.invalidate(key);
+    }
+
+    static final class SlidingWindowCounter {
+
+        private record Window(long start, long previous, long current) {
+
+            Window rollTo(long now, long windowMillis) {
+                if (now < start + windowMillis) {
+                    return this;
+                }
+                long alignedStart = now - Math.floorMod(now, windowMillis);
+                if (now < start + 2 * windowMillis) {
+                    return new Window(start + windowMillis, current, 0);
+                }
+                return new Window(alignedStart, 0, 0);
+            }
+        }
+
+        private final AtomicReference<Window> window = new AtomicReference<>(new Window(0, 0, 0));
+
+        boolean tryIncrement(long now, long windowMillis, long limit) {
+            Window current;
+            Window next;
+            do {
+                current = window.get();
+                Window rolled = current.rollTo(now, windowMillis);
+                if (estimate(rolled, now, windowMillis) >= limit) {
+                    return false;
+                }
+                next = new Window(rolled.start(), rolled.previous(), rolled.current() + 1);
+            } while (!window.compareAndSet(current, next));
+            return true;
+        }
+
+        /** Takes back one count, from the previous window if the current one rolled over since. */
+        void decrement(long now, long windowMillis) {
+            Window current;
+            Window next;
+            do {
+                current = window.get();
+                Window rolled = current.rollTo(now, windowMillis);
+                if (rolled.current() > 0) {
+                    next = new Window(rolled.start(), rolled.previous(), rolled.current() - 1);
+                } else if (rolled.previous() > 0) {
+                    next = new Window(rolled.start(), rolled.previous() - 1, 0);
+                } else {
+                    return;
+                }
+            } while (!window.compareAndSet(current, next));
+        }
+
+        long estimate(long now, long windowMillis) {
+            return estimate(window.get().rollTo(now, windowMillis), now, windowMillis);
+        }
+
+        private static long estimate(Window rolled, long now, long windowMillis) {
+            double previousWeight = 1.0 - (double) (now - rolled.start()) / windowMillis;
+            return rolled.current() + (long) Math.floor(rolled.previous() * previousWeight);
+        }
+    }
+}
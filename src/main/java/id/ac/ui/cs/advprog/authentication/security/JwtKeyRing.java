@@ -0,0 +1,62 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable set of keys accepted for verification, indexed by {@code kid}, plus the one active
+ * key new tokens are signed with. Rotating means publishing a ring with a new active key while
+ * the previous one stays verify-only until the tokens it signed have expired, so users are
+ * moved onto the new key gradually as their tokens come up for renewal.
+ *
+ * @param activeKey  key used to sign new tokens
+ * @param keysById   every key with a {@code kid}, active or verify-only
+ * @param legacyKey  key for tokens issued without a {@code kid} header, or {@code null}
+ */
+public record JwtKeyRing(JwtSigningKey activeKey, Map<String, JwtSigningKey> keysById, JwtSigningKey legacyKey) {
+
+    public JwtKeyRing {
+        if (activeKey == null || !activeKey.canSign()) {
+            throw new IllegalArgumentException("The active key must have signing material");
+        }
+        keysById = Map.copyOf(keysById);
+    }
+
+    /** Ring holding a single key that both signs and verifies. */
+    public static JwtKeyRing of(JwtSigningKey key) {
+        return of(key, List.of(), null);
+    }
+
+    public static JwtKeyRing of(JwtSigningKey activeKey, Collection<JwtSigningKey> verifyOnlyKeys,
+                                JwtSigningKey legacyKey) {
+        Map<String, JwtSigningKey> byId = new HashMap<>();
+        for (JwtSigningKey key : verifyOnlyKeys) {
+            if (key.keyId() == null) {
+                throw new IllegalArgumentException("Verify-only keys need a kid");
+            }
+            byId.put(key.keyId(), key);
+        }
+        JwtSigningKey legacy = legacyKey;
+        if (activeKey.keyId() != null) {
+            byId.put(activeKey.keyId(), activeKey);
+        } else {
+            legacy = activeKey;
+        }
+        return new JwtKeyRing(activeKey, byId, legacy);
+    }
+
+    /** Key that verifies tokens with the given {@code kid} header, or {@code null} if unknown. */
+    public JwtSigningKey findVerificationKey(String keyId) {
+        return keyId == null ? legacyKey : keysById.get(keyId);
+    }
+
+    public List<JwtSigningKey> publishableKeys() {
+        return keysById.values().stream()
+                .filter(JwtSigningKey::isPublishable)
+                .sorted(Comparator.comparing(JwtSigningKey::keyId))
+                .toList();
+    }
+}
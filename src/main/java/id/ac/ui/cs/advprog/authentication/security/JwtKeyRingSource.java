@@ -0,0 +1,151 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Supplies the current {@link JwtKeyRing}. Without {@code JWT_KEYS_FILE} the ring holds just the
+ * key configured through {@code JWT_ALGORITHM}/{@code JWT_SECRET}. With it, the ring is read
+ * from that JSON file and re-read whenever the file changes, so keys rotate without a restart:
+ *
+ * <pre>
+ * {
+ *   "activeKeyId": "2026-10",
+ *   "keys": [
+ *     {"kid": "2026-10", "alg": "ES256", "privateKey": "...", "publicKey": "..."},
+ *     {"kid": "2026-09", "alg": "HS512", "secret": "..."}
+ *   ]
+ * }
+ * </pre>
+ *
+ * Every key other than the active one is verify-only. The environment-configured HMAC key keeps
+ * verifying tokens that were issued without a {@code kid} header.
+ */
+@Component
+public class JwtKeyRingSource {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRingSource.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final JwtSigningKey configuredKey;
+    private final Path keysFile;
+
+    private volatile JwtKeyRing keyRing;
+    private volatile FileTime loadedModifiedTime;
+
+    @Autowired
+    public JwtKeyRingSource(
+            @Value("${JWT_ALGORITHM:HS512}") String algorithm,
+            @Value("${JWT_SECRET:}") String jwtSecret,
+            @Value("${JWT_PRIVATE_KEY:}") String privateKey,
+            @Value("${JWT_PUBLIC_KEY:}") String publicKey,
+            @Value("${JWT_KEYS_FILE:}") String keysFile
+    ) throws IOException {
+        this.keysFile = keysFile.isBlank() ? null : Path.of(keysFile);
+        if (this.keysFile == null) {
+            this.configuredKey = JwtSigningKey.fromConfig(algorithm, jwtSecret, privateKey, publicKey);
+            this.keyRing = JwtKeyRing.of(configuredKey);
+        } else {
+            this.configuredKey = jwtSecret.isBlank() ? null : JwtSigningKey.hmac(jwtSecret);
+            this.loadedModifiedTime = Files.getLastModifiedTime(this.keysFile);
+            this.keyRing = readKeysFile();
+        }
+    }
+
+    /** Fixed ring, for callers that manage keys themselves. */
+    public JwtKeyRingSource(JwtKeyRing keyRing) {
+        this.configuredKey = null;
+        this.keysFile = null;
+        this.keyRing = keyRing;
+    }
+
+    public JwtKeyRing getKeyRing() {
+        return keyRing;
+    }
+
+    public void setKeyRing(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    /**
+     * Re-reads the keys file if its modification time changed. A file that fails to parse is
+     * logged and ignored so a bad edit never drops the keys currently in use.
+     */
+    @Scheduled(fixedDelayString = "${JWT_KEYS_RELOAD_INTERVAL_MS:30000}")
+    public void reloadIfChanged() {
+        if (keysFile == null) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(keysFile);
+            if (modified.equals(loadedModifiedTime)) {
+                return;
+            }
+            JwtKeyRing reloaded = readKeysFile();
+            this.keyRing = reloaded;
+            this.loadedModifiedTime = modified;
+            log.info("Reloaded JWT key ring from {}; active kid {}", keysFile, reloaded.activeKey().keyId());
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Could not reload JWT key ring from {}; keeping the current keys", keysFile, e);
+        }
+    }
+
+    private JwtKeyRing readKeysFile() throws IOException {
+        KeysFile file;
+        try (InputStream in = Files.newInputStream(keysFile)) {
+            file = MAPPER.readValue(in, KeysFile.class);
+        }
+        if (file.keys() == null || file.activeKeyId() == null) {
+            throw new IllegalArgumentException("Keys file needs activeKeyId and keys");
+        }
+
+        JwtSigningKey active = null;
+        List<JwtSigningKey> verifyOnly = new ArrayList<>();
+        for (KeyEntry entry : file.keys()) {
+            JwtSigningKey key = entry.toSigningKey();
+            if (key.keyId().equals(file.activeKeyId())) {
+                active = key;
+            } else {
+                verifyOnly.add(key);
+            }
+        }
+        if (active == null) {
+            throw new IllegalArgumentException("Active key " + file.activeKeyId() + " is not in the keys file");
+        }
+        return JwtKeyRing.of(active, verifyOnly, configuredKey);
+    }
+
+    private record KeysFile(String activeKeyId, List<KeyEntry> keys) {
+    }
+
+    private record KeyEntry(String kid, String alg, String secret, String privateKey, String publicKey) {
+
+        JwtSigningKey toSigningKey() {
+            if (kid == null || kid.isBlank()) {
+                throw new IllegalArgumentException("Every key in the keys file needs a kid");
+            }
+            switch (alg == null ? "" : alg.toUpperCase()) {
+                case "HS512":
+                    return JwtSigningKey.hmac(kid, secret);
+                case "ES256":
+                    return JwtSigningKey.ecdsa(kid, privateKey, publicKey);
+                default:
+                    throw new IllegalArgumentException("Unsupported algorithm for key " + kid + ": " + alg);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature and expiry have already been checked.
+ * Produced once per request by {@link JwtTokenProvider#parseToken(String)}.
+ * {@code tokenId} is the {@code jti} claim, {@code null} for tokens issued before it was added.
+ */
+public record JwtPrincipal(String userId, String role, Instant issuedAt, Instant expiresAt, String tokenId) {
+}
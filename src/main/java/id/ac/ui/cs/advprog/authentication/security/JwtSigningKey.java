@@ -0,0 +1,183 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * A key used to sign and verify access tokens. HMAC keys are shared secrets and are never
+ * published; ECDSA keys expose their public half as a JWK so other services can verify offline.
+ *
+ * @param keyId           value of the {@code kid} header, or {@code null} for the legacy HMAC key
+ * @param signingKey      secret or private key used to sign, or {@code null} for a verify-only key
+ * @param verificationKey secret or public key used to verify
+ */
+public record JwtSigningKey(String keyId, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey) {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private static final ECParameterSpec P256 = p256();
+
+    public static JwtSigningKey hmac(String base64Secret) {
+        return hmac(null, base64Secret);
+    }
+
+    public static JwtSigningKey hmac(String keyId, String base64Secret) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+        return new JwtSigningKey(keyId, SignatureAlgorithm.HS512, key, key);
+    }
+
+    public static JwtSigningKey ecdsa(String privateKey, String publicKey) {
+        return ecdsa(null, privateKey, publicKey);
+    }
+
+    /**
+     * Builds an ES256 key from a PKCS#8 private key and an X.509 public key, each given as PEM
+     * or as bare Base64 DER. Without a private key the result is verify-only. When
+     * {@code keyId} is {@code null} the RFC 7638 thumbprint of the public key is used.
+     */
+    public static JwtSigningKey ecdsa(String keyId, String privateKey, String publicKey) {
+        if (publicKey == null || publicKey.isBlank()) {
+            throw new IllegalArgumentException("ES256 keys need a public key");
+        }
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            PrivateKey priv = privateKey == null || privateKey.isBlank() ? null
+                    : keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(privateKey)));
+            PublicKey pub = keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(publicKey)));
+            if (!isP256(((ECPublicKey) pub).getParams()) || (priv != null && !isP256(((ECKey) priv).getParams()))) {
+                throw new IllegalArgumentException("ES256 requires a P-256 key");
+            }
+            if (priv != null && !isKeyPair(priv, pub)) {
+                throw new IllegalArgumentException("ES256 private key does not match the public key");
+            }
+            String kid = keyId != null ? keyId : thumbprint((ECPublicKey) pub);
+            return new JwtSigningKey(kid, SignatureAlgorithm.ES256, priv, pub);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid ES256 key", e);
+        }
+    }
+
+    public static JwtSigningKey fromConfig(String algorithm, String secret, String privateKey, String publicKey) {
+        switch (algorithm.toUpperCase()) {
+            case "HS512":
+                return hmac(secret);
+            case "ES256":
+                return ecdsa(privateKey, publicKey);
+            default:
+                throw new IllegalArgumentException("Unsupported JWT algorithm: " + algorithm);
+        }
+    }
+
+    public boolean canSign() {
+        return signingKey != null;
+    }
+
+    public boolean isPublishable() {
+        return verificationKey instanceof ECPublicKey;
+    }
+
+    /** Public JWK (RFC 7517) for this key; only valid when {@link #isPublishable()}. */
+    public Map<String, Object> toJwk() {
+        if (!isPublishable()) {
+            throw new IllegalStateException("Symmetric keys cannot be published");
+        }
+        Map<String, Object> jwk = new LinkedHashMap<>(ecCoordinates((ECPublicKey) verificationKey));
+        jwk.put("kid", keyId);
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm.getValue());
+        return jwk;
+    }
+
+    /**
+     * Compares the whole curve, not just its size: secp256k1 is 256 bits too, but ES256
+     * verifiers reject it and the JWK would wrongly claim {@code crv: P-256}.
+     */
+    static boolean isP256(ECParameterSpec params) {
+        return params.getCurve().equals(P256.getCurve())
+                && params.getGenerator().equals(P256.getGenerator())
+                && params.getOrder().equals(P256.getOrder())
+                && params.getCofactor() == P256.getCofactor();
+    }
+
+    /** Signs and verifies a probe, so a mismatched pair fails at startup rather than on every token. */
+    private static boolean isKeyPair(PrivateKey priv, PublicKey pub) throws GeneralSecurityException {
+        byte[] probe = "jwt-signing-key-check".getBytes(StandardCharsets.UTF_8);
+        Signature signer = Signature.getInstance("SHA256withECDSA");
+        signer.initSign(priv);
+        signer.update(probe);
+        byte[] signature = signer.sign();
+        Signature verifier = Signature.getInstance("SHA256withECDSA");
+        verifier.initVerify(pub);
+        verifier.update(probe);
+        return verifier.verify(signature);
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("P-256 is not supported by this JVM", e);
+        }
+    }
+
+    private static Map<String, Object> ecCoordinates(ECPublicKey key) {
+        Map<String, Object> members = new LinkedHashMap<>();
+        members.put("crv", "P-256");
+        members.put("kty", "EC");
+        members.put("x", BASE64_URL.encodeToString(toUnsigned(key.getW().getAffineX(), 32)));
+        members.put("y", BASE64_URL.encodeToString(toUnsigned(key.getW().getAffineY(), 32)));
+        return members;
+    }
+
+    private static String thumbprint(ECPublicKey key) throws GeneralSecurityException {
+        // RFC 7638: required members only, lexicographic order, no whitespace.
+        Map<String, Object> members = ecCoordinates(key);
+        String canonical = "{\"crv\":\"" + members.get("crv") + "\",\"kty\":\"" + members.get("kty")
+                + "\",\"x\":\"" + members.get("x") + "\",\"y\":\"" + members.get("y") + "\"}";
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+        return BASE64_URL.encodeToString(digest);
+    }
+
+    private static byte[] toUnsigned(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length == length) {
+            return bytes;
+        }
+        byte[] padded = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, padded, length - copy, copy);
+        return padded;
+    }
+
+    private static byte[] decodePem(String pem) {
+        String base64 = Arrays.stream(pem.split("\\R"))
+                .filter(line -> !line.startsWith("-----"))
+                .reduce("", String::concat)
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
@@ -2,65 +2,146 @@ package id.ac.ui.cs.advprog.authentication.security;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 
 @Component
 public class JwtTokenProvider {
 
-    @Value("${JWT_SECRET}")
-    private String jwtSecret;
+    /** Access tokens are short-lived; clients renew them through /auth/refresh. */
+    @Value("${JWT_EXPIRATION_MS:900000}")
+    private long jwtExpirationMs = 900000; // 15 minutes
 
-    private final long JWT_EXPIRATION_MS = 3600000; // 1 hour
+    private final JwtKeyRingSource keyRingSource;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Key ring and the parser resolving keys from it are swapped together whenever the
+     * source hands out a new ring.
+     */
+    private volatile SigningMaterial signingMaterial;
+
+    @Autowired
+    public JwtTokenProvider(JwtKeyRingSource keyRingSource, VerifiedTokenCache verifiedTokenCache) {
+        this.keyRingSource = keyRingSource;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.signingMaterial = SigningMaterial.of(keyRingSource.getKeyRing());
+    }
+
+    private SigningMaterial signingMaterial() {
+        JwtKeyRing current = keyRingSource.getKeyRing();
+        SigningMaterial material = signingMaterial;
+        if (material.keyRing() != current) {
+            material = SigningMaterial.of(current);
+            signingMaterial = material;
+            // Keys may have been removed from the ring; drop anything verified against them.
+            verifiedTokenCache.invalidateAll();
+        }
+        return material;
     }
 
     public String generateToken(String userId, String role) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + JWT_EXPIRATION_MS);
+        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
+        JwtSigningKey key = signingMaterial().keyRing().activeKey();
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userId)
                 .claim("role", role)
                 .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .setExpiration(expiryDate);
+        if (key.keyId() != null) {
+            builder.setHeaderParam("kid", key.keyId());
+        }
+        return builder
+                .signWith(key.signingKey(), key.algorithm())
                 .compact();
     }
 
-    public String getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(getSigningKey())
+    /**
+     * Verifies the signature and expiry of {@code token} exactly once and returns its claims.
+     * When the verified-token cache is enabled, a token seen before is not verified again.
+     *
+     * @throws JwtException if the token is malformed, expired or not signed by us
+     * @throws IllegalArgumentException if the token is null or blank
+     */
+    public JwtPrincipal parseToken(String token) {
+        // Resolve the material first so a key ring change clears the cache before it is read.
+        SigningMaterial material = signingMaterial();
+        return verifiedTokenCache.get(token, raw -> verify(material, raw));
+    }
+
+    private JwtPrincipal verify(SigningMaterial material, String token) {
+        Claims claims = material.parser()
                 .parseClaimsJws(token)
                 .getBody();
-        return claims.getSubject();
+
+        return new JwtPrincipal(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                claims.getId()
+        );
+    }
+
+    /** Public keys other services can use to verify our tokens; HMAC keys are never included. */
+    public List<Map<String, Object>> getPublicJwks() {
+        return signingMaterial().keyRing().publishableKeys().stream()
+                .map(JwtSigningKey::toJwk)
+                .toList();
+    }
+
+    public String getUserIdFromJWT(String token) {
+        return parseToken(token).userId();
     }
 
     public String getRoleFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .parseClaimsJws(token)
-                .getBody();
-        return (String) claims.get("role");
+        return parseToken(token).role();
     }
 
     public boolean validateToken(String authToken) {
         try {
-            Jwts.parser().setSigningKey(getSigningKey()).parseClaimsJws(authToken);
+            parseToken(authToken);
             return true;
         } catch (Exception ex) {
             // You can add logging here if needed
         }
         return false;
     }
+
+    /** Key ring plus the immutable, thread-safe parser that looks keys up in it by {@code kid}. */
+    private record SigningMaterial(JwtKeyRing keyRing, JwtParser parser) {
+
+        static SigningMaterial of(JwtKeyRing keyRing) {
+            JwtParser parser = Jwts.parserBuilder()
+                    .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                        @Override
+                        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                            JwtSigningKey key = keyRing.findVerificationKey(header.getKeyId());
+                            if (key == null || !key.algorithm().getValue().equals(header.getAlgorithm())) {
+                                throw new UnsupportedJwtException("Unknown signing key: " + header.getKeyId());
+                            }
+                            return key.verificationKey();
+                        }
+                    })
+                    .build();
+            return new SigningMaterial(keyRing, parser);
+        }
+    }
 }
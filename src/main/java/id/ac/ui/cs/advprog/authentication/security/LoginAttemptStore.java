@@ -0,0 +1,23 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+/**
+ * Failed-login counters over a sliding window, keyed by e.g. {@code email:...} or {@code ip:...}.
+ * {@link InMemoryLoginAttemptStore} counts per node; a shared implementation (Redis, database)
+ * registered as a {@code @Primary} bean of this type counts across nodes instead.
+ */
+public interface LoginAttemptStore {
+
+    /** Failures for {@code key} within the window ending now. */
+    long failures(String key);
+
+    /**
+     * Counts an attempt for {@code key} unless {@code limit} are already counted in the window,
+     * checking and counting as one atomic step. {@code false} if the key is at its limit.
+     */
+    boolean tryAcquire(String key, long limit);
+
+    /** Uncounts an attempt from {@link #tryAcquire} that did not turn out to be a failure. */
+    void release(String key);
+
+    void reset(String key);
+}
@@ -0,0 +1,78 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import id.ac.ui.cs.advprog.authentication.util.EmailNormalizer;
+
+/**
+ * Brute-force guard for {@code /auth/login}. Failures are counted per email, which stops guessing
+ * against one account, and per client address, which stops one client spraying many accounts.
+ * Every attempt is counted as a failure up front, before the password is hashed, so concurrent
+ * guesses cannot all pass a limit that only finished failures would reach. A successful login
+ * clears the email counter and takes back its count from the address, which keeps the rest of
+ * its history.
+ */
+@Component
+public class LoginThrottle {
+
+    private final LoginAttemptStore store;
+    private final long maxFailuresPerEmail;
+    private final long maxFailuresPerIp;
+    /** Stackless and immutable, so one instance serves every rejection. */
+    private final LoginThrottledException throttled;
+
+    @Autowired
+    public LoginThrottle(
+            LoginAttemptStore store,
+            @Value("${LOGIN_MAX_FAILURES_PER_EMAIL:5}") long maxFailuresPerEmail,
+            @Value("${LOGIN_MAX_FAILURES_PER_IP:50}") long maxFailuresPerIp,
+            @Value("${LOGIN_FAILURE_WINDOW_SECONDS:900}") long windowSeconds
+    ) {
+        this.store = store;
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        // The weighted window decays gradually; a full window is the honest upper bound.
+        this.throttled = new LoginThrottledException(windowSeconds);
+    }
+
+    /**
+     * Counts the attempt against both limits. It stays counted as a failure unless
+     * {@link #recordSuccess} or {@link #release} follows.
+     *
+     * @throws LoginThrottledException if either counter is at its limit; nothing is counted then
+     */
+    public void acquire(String email, String clientIp) {
+        if (!store.tryAcquire(emailKey(email), maxFailuresPerEmail)) {
+            throw throttled;
+        }
+        if (clientIp != null && !store.tryAcquire(ipKey(clientIp), maxFailuresPerIp)) {
+            store.release(emailKey(email));
+            throw throttled;
+        }
+    }
+
+    public void recordSuccess(String email, String clientIp) {
+        store.reset(emailKey(email));
+        if (clientIp != null) {
+            store.release(ipKey(clientIp));
+        }
+    }
+
+    /** For an attempt that ended without an answer on the password, e.g. an overloaded server. */
+    public void release(String email, String clientIp) {
+        store.release(emailKey(email));
+        if (clientIp != null) {
+            store.release(ipKey(clientIp));
+        }
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + (email == null ? "" : EmailNormalizer.normalize(email));
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+}
@@ -0,0 +1,21 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import id.ac.ui.cs.advprog.authentication.exception.ServiceException;
+
+/**
+ * Thrown before any lookup or hashing once an email or client address has failed to sign in
+ * too often. Mapped to {@code 429 Too Many Requests} with a {@code Retry-After} header.
+ */
+public class LoginThrottledException extends ServiceException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterSeconds) {
+        super("Too many failed sign-in attempts; please try again later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
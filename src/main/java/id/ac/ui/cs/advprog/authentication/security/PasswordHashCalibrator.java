@@ -0,0 +1,48 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import java.time.Duration;
+import java.util.function.IntFunction;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Measures verify latency on the current CPU and raises a cost parameter until one more step
+ * would exceed the target. Configured costs act as a floor: calibration only ever strengthens.
+ */
+final class PasswordHashCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "Calibrate1!";
+    private static final int SAMPLES = 3;
+
+    private PasswordHashCalibrator() {
+    }
+
+    /** Highest cost, stepping by one from {@code floor} up to {@code max}, whose verify fits in {@code target}. */
+    static int calibrateStepwise(IntFunction<PasswordEncoder> encoderForCost, int floor, int max, Duration target) {
+        int cost = floor;
+        while (cost < max && verifyTime(encoderForCost.apply(cost + 1)).compareTo(target) <= 0) {
+            cost++;
+        }
+        return cost;
+    }
+
+    /** Cost scaled linearly from {@code floor}, for parameters such as PBKDF2 iterations. */
+    static int calibrateLinear(IntFunction<PasswordEncoder> encoderForCost, int floor, Duration target) {
+        long measured = Math.max(1, verifyTime(encoderForCost.apply(floor)).toNanos());
+        long scaled = (long) floor * target.toNanos() / measured;
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(floor, scaled));
+    }
+
+    /** Best of a few runs, after one warm-up, so a single GC pause does not skew the result. */
+    static Duration verifyTime(PasswordEncoder encoder) {
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        encoder.matches(SAMPLE_PASSWORD, hash);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return Duration.ofNanos(best);
+    }
+}
@@ -0,0 +1,16 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+/**
+ * Hashes and verifies passwords. Stored hashes carry their algorithm as a {@code {id}} prefix
+ * and their cost parameters in the hash itself, so hashes made under older settings keep
+ * verifying and can be recognised as outdated.
+ */
+public interface PasswordHasher {
+
+    String hash(String rawPassword);
+
+    boolean matches(String rawPassword, String storedHash);
+
+    /** Whether {@code storedHash} was made with another algorithm or weaker parameters than now. */
+    boolean needsRehash(String storedHash);
+}
@@ -0,0 +1,152 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs bcrypt work on a fixed pool of platform threads sized to the CPU count, behind a bounded
+ * queue. A login burst can then occupy at most {@code threads + queueCapacity} request threads;
+ * anything beyond that is refused immediately with {@link PasswordHashingOverloadedException}
+ * instead of piling up and starving cheap endpoints of Tomcat workers. The pool threads are
+ * platform threads even when requests run on virtual threads, so bcrypt never has more runnable
+ * threads than there are cores.
+ *
+ * <p>Exports {@code password.hashing.queue.depth}, {@code password.hashing.active},
+ * {@code password.hashing.wait} (time spent queued), {@code password.hashing.duration} and
+ * {@code password.hashing.rejected}.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    /** Stackless and immutable, so one instance serves every rejection. */
+    private final PasswordHashingOverloadedException overloaded;
+    private final Timer waitTimer;
+    private final Timer durationTimer;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public PasswordHashingExecutor(
+            @Value("${PASSWORD_HASHING_THREADS:0}") int threads,
+            @Value("${PASSWORD_HASHING_QUEUE_CAPACITY:100}") int queueCapacity,
+            @Value("${PASSWORD_HASHING_RETRY_AFTER_SECONDS:1}") long retryAfterSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.overloaded = new PasswordHashingOverloadedException(retryAfterSeconds);
+
+        Gauge.builder("password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hashing.wait")
+                .description("Time a password hashing task spent queued")
+                .register(meterRegistry);
+        this.durationTimer = Timer.builder("password.hashing.duration")
+                .description("Time spent hashing or verifying a password")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+                .description("Password hashing tasks refused because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code task} on the hashing pool and waits for its result.
+     *
+     * @throws PasswordHashingOverloadedException if the queue is full
+     */
+    public <T> T execute(Supplier<T> task) {
+        return await(submit(task));
+    }
+
+    /**
+     * Runs {@code tasks} in parallel on the hashing pool and returns their results in order. No
+     * more tasks than the pool has threads are submitted at once, so a bulk job keeps the queue
+     * free for logins instead of filling it.
+     *
+     * @throws PasswordHashingOverloadedException if the queue is full; tasks not yet run are cancelled
+     */
+    public <T> List<T> executeAll(List<? extends Supplier<T>> tasks) {
+        int window = executor.getCorePoolSize();
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                if (i >= window) {
+                    await(futures.get(i - window));
+                }
+                futures.add(submit(tasks.get(i)));
+            }
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : futures) {
+                results.add(await(future));
+            }
+            return results;
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    private <T> Future<T> submit(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return durationTimer.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw overloaded;
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
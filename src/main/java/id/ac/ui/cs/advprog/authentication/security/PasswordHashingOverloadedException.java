@@ -0,0 +1,21 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import id.ac.ui.cs.advprog.authentication.exception.ServiceException;
+
+/**
+ * Thrown instead of queueing more password hashing work once the hashing pool and its queue
+ * are full. Mapped to {@code 503 Service Unavailable} with a {@code Retry-After} header.
+ */
+public class PasswordHashingOverloadedException extends ServiceException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingOverloadedException(long retryAfterSeconds) {
+        super("Too many concurrent sign-in requests; please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
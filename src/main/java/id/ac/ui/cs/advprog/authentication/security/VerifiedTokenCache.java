@@ -0,0 +1,111 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Optional cache of already-verified tokens so a bearer token reused across requests pays for
+ * HMAC verification only once. Entries are keyed by a SHA-256 digest of the raw token, expire
+ * when the token does and are otherwise bounded by Caffeine's W-TinyLFU size eviction.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final MessageDigest SHA_256;
+
+    static {
+        try {
+            SHA_256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private final Cache<TokenDigest, JwtPrincipal> cache;
+
+    public VerifiedTokenCache(
+            @Value("${JWT_CACHE_ENABLED:false}") boolean enabled,
+            @Value("${JWT_CACHE_MAX_SIZE:10000}") long maximumSize,
+            MeterRegistry meterRegistry
+    ) {
+        if (!enabled) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+    }
+
+    /**
+     * Returns the cached principal for {@code token}, or runs {@code verifier} and caches its
+     * result. Exceptions thrown by the verifier propagate and nothing is cached.
+     */
+    public JwtPrincipal get(String token, Function<String, JwtPrincipal> verifier) {
+        if (cache == null || token == null) {
+            return verifier.apply(token);
+        }
+        return cache.get(TokenDigest.of(token), digest -> verifier.apply(token));
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    private record TokenDigest(long high, long low) {
+
+        static TokenDigest of(String token) {
+            MessageDigest digest;
+            try {
+                digest = (MessageDigest) SHA_256.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+            return new TokenDigest(hash.getLong(), hash.getLong());
+        }
+    }
+
+    private static class UntilTokenExpiry implements Expiry<TokenDigest, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, JwtPrincipal principal, long currentTime) {
+            if (principal.expiresAt() == null) {
+                return 0;
+            }
+            return Math.max(0, Duration.between(Instant.now(), principal.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, JwtPrincipal principal,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(key, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, JwtPrincipal principal,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import java.util.function.Consumer;
+
+import id.ac.ui.cs.advprog.authentication.dto.AccountPage;
+import id.ac.ui.cs.advprog.authentication.dto.AccountSummary;
+import id.ac.ui.cs.advprog.authentication.model.AccountType;
+
+/** Read access to every account of a type, for admins. */
+public interface AccountDirectoryService {
+
+    /**
+     * Up to {@code limit} accounts ordered by creation time, starting after {@code cursor}, or
+     * from the first account when it is {@code null}.
+     */
+    AccountPage listAccounts(AccountType type, String cursor, int limit);
+
+    /** Hands every account of {@code type} to {@code action} as it is read, in no particular order. */
+    void exportAccounts(AccountType type, Consumer<AccountSummary> action);
+}
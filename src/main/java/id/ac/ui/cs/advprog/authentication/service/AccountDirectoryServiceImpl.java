@@ -0,0 +1,121 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import id.ac.ui.cs.advprog.authentication.dto.AccountPage;
+import id.ac.ui.cs.advprog.authentication.dto.AccountSummary;
+import id.ac.ui.cs.advprog.authentication.exception.InvalidRequestException;
+import id.ac.ui.cs.advprog.authentication.model.AccountType;
+
+/**
+ * Lists accounts with keyset pagination on {@code (created_at, id)}: each page continues from
+ * the last row of the previous one through the index on those columns, so a deep page costs the
+ * same as the first, unlike OFFSET. The cursor is that last row's key, base64url encoded.
+ * Exports read the whole table through a JDBC cursor of {@code ACCOUNT_EXPORT_FETCH_SIZE} rows.
+ */
+@Service
+public class AccountDirectoryServiceImpl implements AccountDirectoryService {
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    private static final String COLUMNS = "id, full_name, email, phone_number, created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate exportJdbcTemplate;
+
+    @Autowired
+    public AccountDirectoryServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${ACCOUNT_EXPORT_FETCH_SIZE:1000}") int exportFetchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.exportJdbcTemplate.setFetchSize(exportFetchSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AccountPage listAccounts(AccountType type, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // One extra row tells whether there is a next page.
+        List<AccountSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = jdbcTemplate.query(
+                    "SELECT " + COLUMNS + " FROM " + type.getTable()
+                            + " ORDER BY created_at, id LIMIT ?",
+                    (rs, rowNum) -> mapRow(type, rs),
+                    pageSize + 1);
+        } else {
+            AccountKey after = AccountKey.decode(cursor);
+            rows = jdbcTemplate.query(
+                    "SELECT " + COLUMNS + " FROM " + type.getTable()
+                            + " WHERE (created_at, id) > (?, ?) ORDER BY created_at, id LIMIT ?",
+                    (rs, rowNum) -> mapRow(type, rs),
+                    after.createdAt().atOffset(ZoneOffset.UTC), after.id(), pageSize + 1);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new AccountPage(rows, null);
+        }
+        List<AccountSummary> page = rows.subList(0, pageSize);
+        AccountSummary last = page.get(pageSize - 1);
+        return new AccountPage(page, new AccountKey(last.createdAt(), last.id()).encode());
+    }
+
+    /**
+     * Runs in a read-only transaction so the driver streams rows with the fetch size instead of
+     * loading the result; PostgreSQL only uses a cursor with auto-commit off.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAccounts(AccountType type, Consumer<AccountSummary> action) {
+        exportJdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM " + type.getTable(),
+                (RowCallbackHandler) rs -> action.accept(mapRow(type, rs)));
+    }
+
+    private static AccountSummary mapRow(AccountType type, ResultSet rs) throws SQLException {
+        return new AccountSummary(
+                rs.getObject("id", UUID.class),
+                type.name(),
+                rs.getString("full_name"),
+                rs.getString("email"),
+                rs.getString("phone_number"),
+                rs.getObject("created_at", OffsetDateTime.class).toInstant());
+    }
+
+    private record AccountKey(Instant createdAt, UUID id) {
+
+        String encode() {
+            String key = createdAt + "," + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static AccountKey decode(String cursor) {
+            try {
+                String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int comma = key.indexOf(',');
+                return new AccountKey(Instant.parse(key.substring(0, comma)), UUID.fromString(key.substring(comma + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+                throw InvalidRequestException.INVALID_CURSOR;
+            }
+        }
+    }
+}
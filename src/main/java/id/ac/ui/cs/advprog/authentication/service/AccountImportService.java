@@ -0,0 +1,19 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import java.util.Iterator;
+
+import id.ac.ui.cs.advprog.authentication.dto.ImportReport;
+import id.ac.ui.cs.advprog.authentication.dto.TechnicianRegistrationDto;
+import id.ac.ui.cs.advprog.authentication.dto.UserRegistrationDto;
+
+/**
+ * Registers many accounts at once, for onboarding partners. Records are validated like single
+ * registrations; a record that fails does not stop the others. An exception thrown while
+ * reading the next record is reported against it and ends the import.
+ */
+public interface AccountImportService {
+
+    ImportReport importUsers(Iterator<UserRegistrationDto> records);
+
+    ImportReport importTechnicians(Iterator<TechnicianRegistrationDto> records);
+}
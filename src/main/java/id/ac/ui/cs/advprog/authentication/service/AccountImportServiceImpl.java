@@ -0,0 +1,268 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import id.ac.ui.cs.advprog.authentication.dto.ImportReport;
+import id.ac.ui.cs.advprog.authentication.dto.ImportRowResult;
+import id.ac.ui.cs.advprog.authentication.dto.TechnicianRegistrationDto;
+import id.ac.ui.cs.advprog.authentication.dto.UserRegistrationDto;
+import id.ac.ui.cs.advprog.authentication.exception.InvalidRequestException;
+import id.ac.ui.cs.advprog.authentication.model.AccountType;
+import id.ac.ui.cs.advprog.authentication.model.Credential;
+import id.ac.ui.cs.advprog.authentication.repository.CredentialRepository;
+import id.ac.ui.cs.advprog.authentication.security.PasswordHasher;
+import id.ac.ui.cs.advprog.authentication.security.PasswordHashingExecutor;
+import id.ac.ui.cs.advprog.authentication.security.PasswordHashingOverloadedException;
+import id.ac.ui.cs.advprog.authentication.util.EmailNormalizer;
+import id.ac.ui.cs.advprog.authentication.util.UuidV7Generator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Imports {@code ACCOUNT_IMPORT_BATCH_SIZE} records at a time, so only one batch is held in
+ * memory however long the input. Per batch: one query finds the emails already taken, the
+ * passwords are hashed in parallel on the hashing pool, and the profile and credential rows are
+ * written with two JDBC batch inserts in one transaction.
+ */
+@Service
+public class AccountImportServiceImpl implements AccountImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountImportServiceImpl.class);
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (id, full_name, email, phone_number, password, address, profile_photo, version, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, 'default-user.png', 0, ?)
+            """;
+    private static final String INSERT_TECHNICIAN = """
+            INSERT INTO technicians (id, full_name, email, phone_number, password, experience, address,
+                                     total_jobs_completed, total_earnings, profile_photo, version, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0, 'default-technician.png', 0, ?)
+            """;
+    private static final String INSERT_CREDENTIAL = """
+            INSERT INTO credentials (account_id, email, role, password_hash, hash_algorithm, hash_cost, version, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, 0, ?)
+            """;
+
+    static final String DUPLICATE_IN_IMPORT = "Email appears earlier in this import";
+    static final String MALFORMED_RECORD = "Malformed record; the rest of the import was skipped";
+
+    private final CredentialRepository credentialRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordHasher passwordHasher;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public AccountImportServiceImpl(
+            CredentialRepository credentialRepository,
+            JdbcTemplate jdbcTemplate,
+            PasswordHasher passwordHasher,
+            PasswordHashingExecutor passwordHashingExecutor,
+            RegisteredEmailFilter registeredEmailFilter,
+            Validator validator,
+            PlatformTransactionManager transactionManager,
+            @Value("${ACCOUNT_IMPORT_BATCH_SIZE:500}") int batchSize
+    ) {
+        this.credentialRepository = credentialRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordHasher = passwordHasher;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public ImportReport importUsers(Iterator<UserRegistrationDto> records) {
+        return importAccounts(AccountType.USER, records, (row, dto) -> new NewAccount(
+                row, EmailNormalizer.normalize(dto.getEmail()), dto.getFullName(), dto.getPhoneNumber(), dto.getPassword(),
+                dto.getAddress(), null));
+    }
+
+    @Override
+    public ImportReport importTechnicians(Iterator<TechnicianRegistrationDto> records) {
+        return importAccounts(AccountType.TECHNICIAN, records, (row, dto) -> new NewAccount(
+                row, EmailNormalizer.normalize(dto.getEmail()), dto.getFullName(), dto.getPhoneNumber(), dto.getPassword(),
+                dto.getAddress(), dto.getExperience()));
+    }
+
+    private <T> ImportReport importAccounts(AccountType type,
+                                            Iterator<T> records,
+                                            BiFunction<Integer, T, NewAccount> toAccount) {
+        List<ImportRowResult> results = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<NewAccount> batch = new ArrayList<>(batchSize);
+        int row = 0;
+        while (true) {
+            T record;
+            try {
+                if (!records.hasNext()) {
+                    break;
+                }
+                record = records.next();
+            } catch (RuntimeException e) {
+                results.add(ImportRowResult.failed(row + 1, null, MALFORMED_RECORD));
+                break;
+            }
+            row++;
+
+            NewAccount account = toAccount.apply(row, record);
+            String error = validate(record, account);
+            if (error == null && !seenEmails.add(account.email())) {
+                error = DUPLICATE_IN_IMPORT;
+            }
+            if (error != null) {
+                results.add(ImportRowResult.failed(row, account.email(), error));
+                continue;
+            }
+
+            batch.add(account);
+            if (batch.size() == batchSize) {
+                results.addAll(importBatch(type, batch));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            results.addAll(importBatch(type, batch));
+        }
+
+        results.sort(Comparator.comparingInt(ImportRowResult::row));
+        return ImportReport.of(results);
+    }
+
+    /** The same checks as a single registration: bean constraints, then the password policy. */
+    private <T> String validate(T record, NewAccount account) {
+        Set<ConstraintViolation<T>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .min(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .orElseThrow();
+        }
+        if (!AuthenticationServiceImpl.meetsPasswordPolicy(account.password())) {
+            return InvalidRequestException.WEAK_PASSWORD.getMessage();
+        }
+        return null;
+    }
+
+    private List<ImportRowResult> importBatch(AccountType type, List<NewAccount> batch) {
+        List<ImportRowResult> results = new ArrayList<>(batch.size());
+
+        Set<String> taken = new HashSet<>(credentialRepository.findExistingEmails(
+                batch.stream().map(NewAccount::email).toList()));
+        List<NewAccount> available = new ArrayList<>(batch.size());
+        for (NewAccount account : batch) {
+            if (taken.contains(account.email())) {
+                results.add(ImportRowResult.failed(account.row(), account.email(),
+                        InvalidRequestException.EMAIL_IN_USE.getMessage()));
+            } else {
+                available.add(account);
+            }
+        }
+        if (available.isEmpty()) {
+            return results;
+        }
+
+        List<String> hashes;
+        try {
+            hashes = passwordHashingExecutor.executeAll(available.stream()
+                    .map(account -> (Supplier<String>) () -> passwordHasher.hash(account.password()))
+                    .toList());
+        } catch (PasswordHashingOverloadedException e) {
+            available.forEach(account ->
+                    results.add(ImportRowResult.failed(account.row(), account.email(), e.getMessage())));
+            return results;
+        }
+
+        Instant now = Instant.now();
+        List<Credential> credentials = new ArrayList<>(available.size());
+        for (int i = 0; i < available.size(); i++) {
+            NewAccount account = available.get(i);
+            Credential credential = new Credential(UuidV7Generator.next(), account.email(), type.name(), hashes.get(i));
+            credential.setCreatedAt(now);
+            credentials.add(credential);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(type, available, credentials));
+            for (int i = 0; i < available.size(); i++) {
+                results.add(created(available.get(i), credentials.get(i)));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // An email was registered since the check above, or a row broke another constraint;
+            // retry row by row to find out which.
+            for (int i = 0; i < available.size(); i++) {
+                NewAccount account = available.get(i);
+                Credential credential = credentials.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            insert(type, List.of(account), List.of(credential)));
+                    results.add(created(account, credential));
+                } catch (DuplicateKeyException rowFailure) {
+                    results.add(ImportRowResult.failed(account.row(), account.email(),
+                            InvalidRequestException.EMAIL_IN_USE.getMessage()));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    log.warn("Import of row {} rejected by the database", account.row(), rowFailure);
+                    results.add(ImportRowResult.failed(account.row(), account.email(),
+                            InvalidRequestException.RECORD_REJECTED.getMessage()));
+                }
+            }
+        }
+        return results;
+    }
+
+    private ImportRowResult created(NewAccount account, Credential credential) {
+        registeredEmailFilter.add(account.email());
+        return ImportRowResult.created(account.row(), account.email(), credential.getAccountId());
+    }
+
+    private void insert(AccountType type, List<NewAccount> accounts, List<Credential> credentials) {
+        List<Object[]> profileRows = new ArrayList<>(accounts.size());
+        List<Object[]> credentialRows = new ArrayList<>(accounts.size());
+        for (int i = 0; i < accounts.size(); i++) {
+            NewAccount account = accounts.get(i);
+            Credential credential = credentials.get(i);
+            Object createdAt = credential.getCreatedAt().atOffset(ZoneOffset.UTC);
+            profileRows.add(type == AccountType.TECHNICIAN
+                    ? new Object[] {credential.getAccountId(), account.fullName(), account.email(),
+                            account.phoneNumber(), credential.getPasswordHash(), account.experience(),
+                            account.address(), createdAt}
+                    : new Object[] {credential.getAccountId(), account.fullName(), account.email(),
+                            account.phoneNumber(), credential.getPasswordHash(), account.address(), createdAt});
+            credentialRows.add(new Object[] {credential.getAccountId(), credential.getEmail(),
+                    credential.getRole(), credential.getPasswordHash(), credential.getHashAlgorithm(),
+                    credential.getHashCost(), createdAt});
+        }
+        jdbcTemplate.batchUpdate(type == AccountType.TECHNICIAN ? INSERT_TECHNICIAN : INSERT_USER, profileRows);
+        jdbcTemplate.batchUpdate(INSERT_CREDENTIAL, credentialRows);
+    }
+
+    /** A validated record waiting for its batch. */
+    private record NewAccount(int row, String email, String fullName, String phoneNumber,
+                              String password, String address, Integer experience) {
+    }
+}
@@ -7,7 +7,14 @@ import id.ac.ui.cs.advprog.authentication.dto.UserRegistrationDto;
 
 public interface AuthenticationService {
 
-    AuthResponse login(AuthRequest request) throws Exception;
+    /**
+     * @param clientIp address the request came from, used for throttling; may be null
+     */
+    AuthResponse login(AuthRequest request, String clientIp);
+
+    AuthResponse refresh(String refreshToken);
+
+    void logout(String accessToken, String refreshToken);
 
     void registerUser(UserRegistrationDto registrationDto);
 
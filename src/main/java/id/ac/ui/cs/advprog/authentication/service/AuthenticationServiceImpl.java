@@ -1,122 +1,191 @@
 package id.ac.ui.cs.advprog.authentication.service;
 
-import java.util.Optional;
 import java.util.UUID;
 import java.util.regex.Pattern;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import id.ac.ui.cs.advprog.authentication.dto.AuthRequest;
 import id.ac.ui.cs.advprog.authentication.dto.AuthResponse;
 import id.ac.ui.cs.advprog.authentication.dto.TechnicianRegistrationDto;
 import id.ac.ui.cs.advprog.authentication.dto.UserRegistrationDto;
-import id.ac.ui.cs.advprog.authentication.model.Admin;
+import id.ac.ui.cs.advprog.authentication.exception.AccountNotFoundException;
+import id.ac.ui.cs.advprog.authentication.exception.InvalidCredentialsException;
+import id.ac.ui.cs.advprog.authentication.exception.InvalidRequestException;
+import id.ac.ui.cs.advprog.authentication.model.Credential;
 import id.ac.ui.cs.advprog.authentication.model.Technician;
 import id.ac.ui.cs.advprog.authentication.model.User;
 import id.ac.ui.cs.advprog.authentication.repository.AdminRepository;
+import id.ac.ui.cs.advprog.authentication.repository.CredentialRepository;
 import id.ac.ui.cs.advprog.authentication.repository.TechnicianRepository;
 import id.ac.ui.cs.advprog.authentication.repository.UserRepository;
+import id.ac.ui.cs.advprog.authentication.security.JwtPrincipal;
 import id.ac.ui.cs.advprog.authentication.security.JwtTokenProvider;
+import id.ac.ui.cs.advprog.authentication.security.LoginThrottle;
+import id.ac.ui.cs.advprog.authentication.security.PasswordHasher;
+import id.ac.ui.cs.advprog.authentication.security.PasswordHashingExecutor;
+import id.ac.ui.cs.advprog.authentication.security.PasswordHashingOverloadedException;
+import id.ac.ui.cs.advprog.authentication.util.EmailNormalizer;
 
 @Service
 public class AuthenticationServiceImpl implements AuthenticationService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthenticationServiceImpl.class);
+
     private static final Pattern PASSWORD_POLICY =
             Pattern.compile("(?=.*[0-9])(?=.*[A-Z])(?=.*[!@#$%^&*]).{8,}");
 
     private final AdminRepository adminRepository;
     private final TechnicianRepository technicianRepository;
     private final UserRepository userRepository;
+    private final CredentialRepository credentialRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final PasswordHasher passwordHasher;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginThrottle loginThrottle;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final ProfileCache profileCache;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Hash of a random password, checked against when there is no account to check against. */
+    private volatile String dummyHash;
 
     @Autowired
     public AuthenticationServiceImpl(
             AdminRepository adminRepository,
             TechnicianRepository technicianRepository,
             UserRepository userRepository,
-            JwtTokenProvider jwtTokenProvider
+            CredentialRepository credentialRepository,
+            JwtTokenProvider jwtTokenProvider,
+            RefreshTokenService refreshTokenService,
+            TokenRevocationService tokenRevocationService,
+            PasswordHasher passwordHasher,
+            PasswordHashingExecutor passwordHashingExecutor,
+            LoginThrottle loginThrottle,
+            RegisteredEmailFilter registeredEmailFilter,
+            ProfileCache profileCache,
+            PlatformTransactionManager transactionManager
     ) {
         this.adminRepository = adminRepository;
         this.technicianRepository = technicianRepository;
         this.userRepository = userRepository;
+        this.credentialRepository = credentialRepository;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.passwordHasher = passwordHasher;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.loginThrottle = loginThrottle;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.profileCache = profileCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
-    public AuthResponse login(AuthRequest request) {
-        String email = request.getEmail();
+    public AuthResponse login(AuthRequest request, String clientIp) {
+        String email = EmailNormalizer.normalize(request.getEmail());
         String rawPassword = request.getPassword();
 
-        Optional<Admin> adminOpt = adminRepository.findByEmail(email);
-        Optional<Technician> techOpt = technicianRepository.findByEmail(email);
-        Optional<User> userOpt = userRepository.findByEmail(email);
-
-        String storedHash;
-        String role;
-
-        if (adminOpt.isPresent()) {
-            storedHash = adminOpt.get().getPassword();
-            role = "ADMIN";
-        } else if (techOpt.isPresent()) {
-            storedHash = techOpt.get().getPassword();
-            role = "TECHNICIAN";
-        } else if (userOpt.isPresent()) {
-            storedHash = userOpt.get().getPassword();
-            role = "USER";
-        } else {
-            throw new IllegalArgumentException(
-                    "No account found for email: " + email
-            );
+        // Throttled requests are turned away before they cost a query or a hash.
+        loginThrottle.acquire(email, clientIp);
+        Credential credential;
+        try {
+            credential = authenticate(email, rawPassword);
+        } catch (InvalidCredentialsException e) {
+            // The acquired attempt stays counted as the failure.
+            throw e;
+        } catch (RuntimeException e) {
+            loginThrottle.release(email, clientIp);
+            throw e;
         }
+        loginThrottle.recordSuccess(email, clientIp);
 
-        if (!BCrypt.checkpw(rawPassword, storedHash)) {
-            throw new IllegalArgumentException(
-                    "Invalid password for email: " + email
-            );
+        if (passwordHasher.needsRehash(credential.getPasswordHash())) {
+            upgradeHash(credential, rawPassword);
         }
 
-        String userId = adminOpt.map(a -> a.getId().toString())
-                .orElseGet(() -> techOpt.map(t -> t.getId().toString())
-                        .orElseGet(() -> userOpt.get().getId().toString()));
+        String userId = credential.getAccountId().toString();
+        String role = credential.getRole();
 
         String token = jwtTokenProvider.generateToken(userId, role);
-        return new AuthResponse(token);
+        String refreshToken = refreshTokenService.issue(credential.getAccountId(), role);
+        return new AuthResponse(token, refreshToken);
+    }
+
+    private Credential authenticate(String email, String rawPassword) {
+        if (!registeredEmailFilter.mightBeRegistered(email)) {
+            rejectUnknownEmail(rawPassword);
+        }
+        Credential credential = credentialRepository.findByEmail(email).orElse(null);
+        if (credential == null) {
+            registeredEmailFilter.recordFalsePositive();
+            rejectUnknownEmail(rawPassword);
+        }
+        if (!checkPassword(rawPassword, credential.getPasswordHash())) {
+            throw InvalidCredentialsException.INVALID_LOGIN;
+        }
+        return credential;
     }
 
     @Override
-    public void registerUser(UserRegistrationDto dto) {
-        if (userRepository.findByEmail(dto.getEmail()).isPresent()) {
-            throw new IllegalArgumentException("Email is already in use");
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        String token = jwtTokenProvider.generateToken(rotation.accountId().toString(), rotation.role());
+        return new AuthResponse(token, rotation.refreshToken());
+    }
+
+    @Override
+    public void logout(String accessToken, String refreshToken) {
+        JwtPrincipal principal = jwtTokenProvider.parseToken(accessToken);
+        tokenRevocationService.revoke(principal.tokenId(), principal.expiresAt());
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
         }
+    }
+
+    @Override
+    public void registerUser(UserRegistrationDto dto) {
+        String email = EmailNormalizer.normalize(dto.getEmail());
+        ensureEmailAvailable(email);
 
         validatePassword(dto.getPassword());
 
-        String hashed = BCrypt.hashpw(dto.getPassword(), BCrypt.gensalt());
+        String hashed = hashPassword(dto.getPassword());
         User user = new User(
                 dto.getFullName(),
-                dto.getEmail(),
+                email,
                 dto.getPhoneNumber(),
                 hashed,
                 dto.getAddress()
         );
 
-        userRepository.save(user);
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.save(user);
+            saveCredential(new Credential(user.getId(), email, "USER", hashed));
+        });
+        registeredEmailFilter.add(email);
     }
 
     @Override
     public void registerTechnician(TechnicianRegistrationDto dto) {
-        if (technicianRepository.findByEmail(dto.getEmail()).isPresent()) {
-            throw new IllegalArgumentException("Email is already in use");
-        }
+        String email = EmailNormalizer.normalize(dto.getEmail());
+        ensureEmailAvailable(email);
 
         validatePassword(dto.getPassword());
 
-        String hashed = BCrypt.hashpw(dto.getPassword(), BCrypt.gensalt());
+        String hashed = hashPassword(dto.getPassword());
         Technician tech = new Technician(
                 dto.getFullName(),
-                dto.getEmail(),
+                email,
                 dto.getPhoneNumber(),
                 hashed,
                 dto.getExperience(),
@@ -125,7 +194,11 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 0.0
         );
 
-        technicianRepository.save(tech);
+        transactionTemplate.executeWithoutResult(status -> {
+            technicianRepository.save(tech);
+            saveCredential(new Credential(tech.getId(), email, "TECHNICIAN", hashed));
+        });
+        registeredEmailFilter.add(email);
     }
 
     @Override
@@ -136,68 +209,116 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     ) {
         UUID id = UUID.fromString(userId);
 
-        Optional<Admin> adminOpt = adminRepository.findById(id);
-        Optional<Technician> techOpt = technicianRepository.findById(id);
-        Optional<User> userOpt = userRepository.findById(id);
-
-        if (adminOpt.isPresent()) {
-            changePasswordForEntity(adminOpt.get(), oldPassword, newPassword);
-            adminRepository.save(adminOpt.get());
-        } else if (techOpt.isPresent()) {
-            changePasswordForEntity(techOpt.get(), oldPassword, newPassword);
-            technicianRepository.save(techOpt.get());
-        } else if (userOpt.isPresent()) {
-            changePasswordForEntity(userOpt.get(), oldPassword, newPassword);
-            userRepository.save(userOpt.get());
-        } else {
-            throw new IllegalArgumentException("User not found");
+        Credential credential = credentialRepository.findById(id)
+                .orElseThrow(() -> AccountNotFoundException.USER);
+
+        if (!checkPassword(oldPassword, credential.getPasswordHash())) {
+            throw InvalidCredentialsException.WRONG_OLD_PASSWORD;
         }
+
+        validatePassword(newPassword);
+
+        String newHash = hashPassword(newPassword);
+        credential.updatePasswordHash(newHash);
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                credentialRepository.saveAndFlush(credential);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                throw InvalidRequestException.CONCURRENT_PASSWORD_CHANGE;
+            }
+            updateLegacyPassword(credential.getRole(), id, newHash);
+
+            refreshTokenService.revokeAllForAccount(id);
+        });
+        profileCache.invalidate(credential.getRole(), id);
     }
 
-    private void changePasswordForEntity(
-            Object entity,
-            String oldPassword,
-            String newPassword
-    ) {
-        String currentHash = getCurrentHash(entity);
+    /*
+     * Hashing runs on the bounded hashing pool and always outside a transaction, so a queued
+     * request never holds a database connection while it waits for a CPU.
+     */
+    private boolean checkPassword(String rawPassword, String hash) {
+        return passwordHashingExecutor.execute(() -> passwordHasher.matches(rawPassword, hash));
+    }
 
-        if (!BCrypt.checkpw(oldPassword, currentHash)) {
-            throw new IllegalArgumentException("Old password is incorrect");
+    private String hashPassword(String rawPassword) {
+        return passwordHashingExecutor.execute(() -> passwordHasher.hash(rawPassword));
+    }
+
+    /**
+     * Spends the same hashing work as a wrong password for a known email, so the response time
+     * does not tell whether an account exists.
+     */
+    private void rejectUnknownEmail(String rawPassword) {
+        checkPassword(rawPassword, dummyHash());
+        throw InvalidCredentialsException.INVALID_LOGIN;
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = hashPassword(UUID.randomUUID().toString());
+            dummyHash = hash;
         }
+        return hash;
+    }
 
-        validatePassword(newPassword);
+    /**
+     * Rehashes with the current algorithm and cost while the plaintext is at hand. A full hashing
+     * pool skips the upgrade until the next login, and a lost race with a concurrent password
+     * change just keeps the newer hash; login succeeds either way.
+     */
+    private void upgradeHash(Credential credential, String rawPassword) {
+        String newHash;
+        try {
+            newHash = hashPassword(rawPassword);
+        } catch (PasswordHashingOverloadedException e) {
+            log.debug("Skipped hash upgrade for {}; hashing pool is full", credential.getAccountId());
+            return;
+        }
+        credential.updatePasswordHash(newHash);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                credentialRepository.saveAndFlush(credential);
+                updateLegacyPassword(credential.getRole(), credential.getAccountId(), newHash);
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.debug("Skipped hash upgrade for {}; credential changed concurrently", credential.getAccountId());
+        }
+    }
 
-        String newHash = BCrypt.hashpw(newPassword, BCrypt.gensalt());
-        setNewHash(entity, newHash);
+    /** Emails are unique across admins, technicians and users, not just within one role. */
+    private void ensureEmailAvailable(String email) {
+        if (credentialRepository.existsByEmail(email)) {
+            throw InvalidRequestException.EMAIL_IN_USE;
+        }
     }
 
-    private void validatePassword(String password) {
-        if (!PASSWORD_POLICY.matcher(password).matches()) {
-            throw new IllegalArgumentException(
-                    "Password must be ≥8 characters and include a digit, uppercase letter, and special character"
-            );
+    /** Flushes so a concurrent registration of the same email fails here, not at commit. */
+    private void saveCredential(Credential credential) {
+        try {
+            credentialRepository.saveAndFlush(credential);
+        } catch (DataIntegrityViolationException e) {
+            throw InvalidRequestException.EMAIL_IN_USE;
         }
     }
 
-    private String getCurrentHash(Object entity) {
-        if (entity instanceof Admin) {
-            return ((Admin) entity).getPassword();
-        } else if (entity instanceof Technician) {
-            return ((Technician) entity).getPassword();
-        } else if (entity instanceof User) {
-            return ((User) entity).getPassword();
-        } else {
-            throw new IllegalArgumentException("Unsupported account type");
+    /** The profile tables still have a non-null password column; keep it equal to the credential. */
+    private void updateLegacyPassword(String role, UUID id, String newHash) {
+        switch (role) {
+            case "ADMIN" -> adminRepository.updatePassword(id, newHash);
+            case "TECHNICIAN" -> technicianRepository.updatePassword(id, newHash);
+            default -> userRepository.updatePassword(id, newHash);
         }
     }
 
-    private void setNewHash(Object entity, String newHash) {
-        if (entity instanceof Admin) {
-            ((Admin) entity).setPassword(newHash);
-        } else if (entity instanceof Technician) {
-            ((Technician) entity).setPassword(newHash);
-        } else {
-            ((User) entity).setPassword(newHash);
+    private void validatePassword(String password) {
+        if (!meetsPasswordPolicy(password)) {
+            throw InvalidRequestException.WEAK_PASSWORD;
         }
     }
+
+    static boolean meetsPasswordPolicy(String password) {
+        return PASSWORD_POLICY.matcher(password).matches();
+    }
 }
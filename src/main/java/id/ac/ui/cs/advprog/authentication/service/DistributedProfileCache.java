@@ -0,0 +1,70 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import id.ac.ui.cs.advprog.authentication.dto.ProfileResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Profile cache in the shared store behind Spring's {@link CacheManager}, e.g. Redis with
+ * {@code spring.cache.type=redis}; TTL and size limits are configured on that store. Hits and
+ * misses are counted under the same {@code cache.gets} meter Caffeine reports, so dashboards work
+ * with either implementation.
+ */
+@Component
+@ConditionalOnProperty(name = "PROFILE_CACHE_TYPE", havingValue = "distributed")
+public class DistributedProfileCache implements ProfileCache {
+
+    static final String CACHE_NAME = "profiles";
+
+    private final Cache cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public DistributedProfileCache(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        if (this.cache == null) {
+            throw new IllegalStateException("Cache manager has no '" + CACHE_NAME + "' cache");
+        }
+        this.hits = Counter.builder("cache.gets")
+                .tag("cache", CACHE_NAME)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets")
+                .tag("cache", CACHE_NAME)
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ProfileResponseDto get(String role, UUID id, Supplier<ProfileResponseDto> loader) {
+        String key = key(role, id);
+        ProfileResponseDto cached = cache.get(key, ProfileResponseDto.class);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        ProfileResponseDto loaded = loader.get();
+        cache.put(key, loaded);
+        return loaded;
+    }
+
+    @Override
+    public void invalidate(String role, UUID id) {
+        cache.evict(key(role, id));
+    }
+
+    private static String key(String role, UUID id) {
+        return role + ":" + id;
+    }
+}
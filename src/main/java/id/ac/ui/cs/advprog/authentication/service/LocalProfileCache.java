@@ -0,0 +1,60 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import id.ac.ui.cs.advprog.authentication.dto.ProfileResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Per-node profile cache. Entries expire {@code PROFILE_CACHE_TTL_SECONDS} after they are loaded,
+ * which bounds how long another node's update can go unseen, and the cache is capped at
+ * {@code PROFILE_CACHE_MAX_SIZE} entries.
+ */
+@Component
+@ConditionalOnProperty(name = "PROFILE_CACHE_TYPE", havingValue = "local", matchIfMissing = true)
+public class LocalProfileCache implements ProfileCache {
+
+    private final Cache<Key, ProfileResponseDto> cache;
+
+    @Autowired
+    public LocalProfileCache(
+            @Value("${PROFILE_CACHE_TTL_SECONDS:60}") long ttlSeconds,
+            @Value("${PROFILE_CACHE_MAX_SIZE:10000}") long maximumSize,
+            MeterRegistry meterRegistry
+    ) {
+        this(Duration.ofSeconds(ttlSeconds), maximumSize, meterRegistry);
+    }
+
+    LocalProfileCache(Duration ttl, long maximumSize, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "profiles");
+    }
+
+    @Override
+    public ProfileResponseDto get(String role, UUID id, Supplier<ProfileResponseDto> loader) {
+        return cache.get(new Key(role, id), key -> loader.get());
+    }
+
+    @Override
+    public void invalidate(String role, UUID id) {
+        cache.invalidate(new Key(role, id));
+    }
+
+    private record Key(String role, UUID id) {
+    }
+}
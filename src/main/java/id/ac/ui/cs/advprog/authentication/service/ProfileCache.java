@@ -0,0 +1,20 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import id.ac.ui.cs.advprog.authentication.dto.ProfileResponseDto;
+
+/**
+ * Read-through cache of profile responses keyed by role and account id. {@link LocalProfileCache}
+ * is the default; {@code PROFILE_CACHE_TYPE=distributed} switches to {@link DistributedProfileCache}
+ * so an update on one node is not served stale by the others. Cached responses are shared and
+ * must be treated as read-only.
+ */
+public interface ProfileCache {
+
+    /** Returns the cached profile, or loads, caches and returns it. Loader exceptions propagate. */
+    ProfileResponseDto get(String role, UUID id, Supplier<ProfileResponseDto> loader);
+
+    void invalidate(String role, UUID id);
+}
@@ -1,8 +1,26 @@
 package id.ac.ui.cs.advprog.authentication.service;
 
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import id.ac.ui.cs.advprog.authentication.dto.ProfileResponseDto;
 import id.ac.ui.cs.advprog.authentication.dto.ProfileUpdateDto;
+import id.ac.ui.cs.advprog.authentication.dto.PublicProfileView;
 
 public interface ProfileService {
-    Object updateProfile(ProfileUpdateDto dto, String userId, String role) throws Exception;
-    Object getProfile(String userId, String role) throws Exception;
+    ProfileResponseDto updateProfile(ProfileUpdateDto dto, String userId, String role);
+    ProfileResponseDto getProfile(String userId, String role);
+
+    /**
+     * Rejects a batch lookup of more than {@code PROFILE_BATCH_MAX_SIZE} ids. Call before
+     * {@link #forEachPublicProfile} when the response is committed before the rows are read.
+     */
+    void checkBatchSize(int size);
+
+    /**
+     * Hands the public profile of every user and technician among {@code ids} to {@code action}
+     * as the rows are read. Unknown ids and admins are skipped; the order is not that of {@code ids}.
+     */
+    void forEachPublicProfile(Collection<UUID> ids, Consumer<PublicProfileView> action);
 }
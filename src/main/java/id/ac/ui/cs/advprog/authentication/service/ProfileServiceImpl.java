@@ -1,15 +1,25 @@
 package id.ac.ui.cs.advprog.authentication.service;
 
+import java.util.Collection;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import id.ac.ui.cs.advprog.authentication.dto.AdminProfileView;
 import id.ac.ui.cs.advprog.authentication.dto.ProfileResponseDto;
 import id.ac.ui.cs.advprog.authentication.dto.ProfileUpdateDto;
-import id.ac.ui.cs.advprog.authentication.model.Admin;
-import id.ac.ui.cs.advprog.authentication.model.Technician;
-import id.ac.ui.cs.advprog.authentication.model.User;
+import id.ac.ui.cs.advprog.authentication.dto.PublicProfileView;
+import id.ac.ui.cs.advprog.authentication.dto.TechnicianProfileView;
+import id.ac.ui.cs.advprog.authentication.dto.UserProfileView;
+import id.ac.ui.cs.advprog.authentication.exception.AccountNotFoundException;
+import id.ac.ui.cs.advprog.authentication.exception.InvalidRequestException;
 import id.ac.ui.cs.advprog.authentication.repository.AdminRepository;
 import id.ac.ui.cs.advprog.authentication.repository.TechnicianRepository;
 import id.ac.ui.cs.advprog.authentication.repository.UserRepository;
@@ -17,137 +27,178 @@ import id.ac.ui.cs.advprog.authentication.repository.UserRepository;
 @Service
 public class ProfileServiceImpl implements ProfileService {
 
+    /** Conditional updates tried before giving up on a row that keeps changing underneath. */
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+
     private final UserRepository userRepository;
     private final TechnicianRepository technicianRepository;
     private final AdminRepository adminRepository;
+    private final ProfileCache profileCache;
+    private final int maxBatchSize;
 
     @Autowired
     public ProfileServiceImpl(UserRepository userRepository,
                               TechnicianRepository technicianRepository,
-                              AdminRepository adminRepository) {
+                              AdminRepository adminRepository,
+                              ProfileCache profileCache,
+                              @Value("${PROFILE_BATCH_MAX_SIZE:500}") int maxBatchSize) {
         this.userRepository = userRepository;
         this.technicianRepository = technicianRepository;
         this.adminRepository = adminRepository;
+        this.profileCache = profileCache;
+        this.maxBatchSize = maxBatchSize;
     }
 
     @Override
+    @Transactional
     public ProfileResponseDto updateProfile(ProfileUpdateDto dto,
                                             String userId,
-                                            String role) throws Exception {
+                                            String role) {
         UUID id = UUID.fromString(userId);
 
-        switch (role.toUpperCase()) {
+        String normalizedRole = role.toUpperCase();
+        ProfileResponseDto updated;
+        switch (normalizedRole) {
             case "USER":
-                return updateUser(dto, id);
+                updated = updateUser(dto, id);
+                break;
             case "TECHNICIAN":
-                return updateTechnician(dto, id);
+                updated = updateTechnician(dto, id);
+                break;
             default:
-                throw new Exception("Profile update not allowed for role: " + role);
+                throw InvalidRequestException.PROFILE_UPDATE_NOT_ALLOWED;
         }
+        invalidateAfterCommit(normalizedRole, id);
+        return updated;
     }
 
-    private ProfileResponseDto updateUser(ProfileUpdateDto dto, UUID id) throws Exception {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new Exception("User not found"));
-
-        if (dto.getFullName()    != null) user.setFullName(dto.getFullName());
-        if (dto.getPhoneNumber() != null) user.setPhoneNumber(dto.getPhoneNumber());
-        if (dto.getAddress()     != null) user.setAddress(dto.getAddress());
-        if (dto.getProfilePhoto()!= null) user.setProfilePhoto(dto.getProfilePhoto());
-
-        User saved = userRepository.save(user);
-
-        return ProfileResponseDto.builder()
-                .fullName(saved.getFullName())
-                .email(saved.getEmail())
-                .phoneNumber(saved.getPhoneNumber())
-                .address(saved.getAddress())
-                .profilePhoto(saved.getProfilePhoto())
-                .role("USER")
-                .build();
+    /**
+     * Invalidated only once the update is committed: invalidating earlier would let a read in
+     * between load the still-committed old row and cache it again. A rolled-back update leaves
+     * the entry alone.
+     */
+    private void invalidateAfterCommit(String role, UUID id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            profileCache.invalidate(role, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                profileCache.invalidate(role, id);
+            }
+        });
     }
 
-    private ProfileResponseDto updateTechnician(ProfileUpdateDto dto, UUID id) throws Exception {
-        Technician tech = technicianRepository.findById(id)
-                .orElseThrow(() -> new Exception("Technician not found"));
-
-        if (dto.getFullName()     != null) tech.setFullName(dto.getFullName());
-        if (dto.getPhoneNumber()  != null) tech.setPhoneNumber(dto.getPhoneNumber());
-        if (dto.getAddress()      != null) tech.setAddress(dto.getAddress());
-        if (dto.getProfilePhoto() != null) tech.setProfilePhoto(dto.getProfilePhoto());
-        if (dto.getExperience()   != null) tech.setExperience(dto.getExperience());
+    /**
+     * Writes with one UPDATE conditioned on the version of the profile the response is built
+     * from. That profile comes from the cache when it is there, so an update after a read costs a
+     * single statement; a stale entry fails the version check and the row is read fresh.
+     */
+    private ProfileResponseDto updateUser(ProfileUpdateDto dto, UUID id) {
+        ProfileResponseDto current = profileCache.get("USER", id, () -> getUser(id));
+        for (int attempt = 1; ; attempt++) {
+            int updated = userRepository.updateProfile(id, current.getVersion(),
+                    dto.getFullName(), dto.getPhoneNumber(), dto.getAddress(), dto.getProfilePhoto());
+            if (updated == 1) {
+                return applyUpdate(dto, current);
+            }
+            if (attempt == MAX_UPDATE_ATTEMPTS) {
+                throw InvalidRequestException.CONCURRENT_PROFILE_UPDATE;
+            }
+            current = getUser(id);
+        }
+    }
 
-        Technician saved = technicianRepository.save(tech);
+    private ProfileResponseDto updateTechnician(ProfileUpdateDto dto, UUID id) {
+        ProfileResponseDto current = profileCache.get("TECHNICIAN", id, () -> getTechnician(id));
+        for (int attempt = 1; ; attempt++) {
+            int updated = technicianRepository.updateProfile(id, current.getVersion(),
+                    dto.getFullName(), dto.getPhoneNumber(), dto.getAddress(), dto.getProfilePhoto(),
+                    dto.getExperience());
+            if (updated == 1) {
+                ProfileResponseDto next = applyUpdate(dto, current);
+                if (dto.getExperience() != null) next.setExperience(dto.getExperience());
+                return next;
+            }
+            if (attempt == MAX_UPDATE_ATTEMPTS) {
+                throw InvalidRequestException.CONCURRENT_PROFILE_UPDATE;
+            }
+            current = getTechnician(id);
+        }
+    }
 
+    /** The profile as the successful UPDATE left it; {@code current} is shared and left untouched. */
+    private static ProfileResponseDto applyUpdate(ProfileUpdateDto dto, ProfileResponseDto current) {
         return ProfileResponseDto.builder()
-                .fullName(saved.getFullName())
-                .email(saved.getEmail())
-                .phoneNumber(saved.getPhoneNumber())
-                .address(saved.getAddress())
-                .profilePhoto(saved.getProfilePhoto())
-                .experience(saved.getExperience())
-                .totalJobsCompleted(saved.getTotalJobsCompleted())
-                .totalEarnings(saved.getTotalEarnings())
-                .role("TECHNICIAN")
+                .fullName(dto.getFullName()         != null ? dto.getFullName()     : current.getFullName())
+                .email(current.getEmail())
+                .phoneNumber(dto.getPhoneNumber()   != null ? dto.getPhoneNumber()  : current.getPhoneNumber())
+                .address(dto.getAddress()           != null ? dto.getAddress()      : current.getAddress())
+                .profilePhoto(dto.getProfilePhoto() != null ? dto.getProfilePhoto() : current.getProfilePhoto())
+                .experience(current.getExperience())
+                .totalJobsCompleted(current.getTotalJobsCompleted())
+                .totalEarnings(current.getTotalEarnings())
+                .role(current.getRole())
+                .version(current.getVersion() + 1)
                 .build();
     }
 
     @Override
-    public ProfileResponseDto getProfile(String userId, String role) throws Exception {
+    public ProfileResponseDto getProfile(String userId, String role) {
         UUID id = UUID.fromString(userId);
 
-        switch (role.toUpperCase()) {
+        String normalizedRole = role.toUpperCase();
+        switch (normalizedRole) {
             case "USER":
-                return getUser(id);
+                return profileCache.get(normalizedRole, id, () -> getUser(id));
             case "TECHNICIAN":
-                return getTechnician(id);
+                return profileCache.get(normalizedRole, id, () -> getTechnician(id));
             case "ADMIN":
-                return getAdmin(id);
+                return profileCache.get(normalizedRole, id, () -> getAdmin(id));
             default:
-                throw new Exception("Profile retrieval not allowed for role: " + role);
+                throw InvalidRequestException.PROFILE_RETRIEVAL_NOT_ALLOWED;
         }
     }
 
-    private ProfileResponseDto getUser(UUID id) throws Exception {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new Exception("User not found"));
-
-        return ProfileResponseDto.builder()
-                .fullName(user.getFullName())
-                .email(user.getEmail())
-                .phoneNumber(user.getPhoneNumber())
-                .address(user.getAddress())
-                .profilePhoto(user.getProfilePhoto())
-                .role("USER")
-                .build();
+    private ProfileResponseDto getUser(UUID id) {
+        return userRepository.findProfileById(id)
+                .map(UserProfileView::toResponse)
+                .orElseThrow(() -> AccountNotFoundException.USER);
     }
 
-    private ProfileResponseDto getTechnician(UUID id) throws Exception {
-        Technician tech = technicianRepository.findById(id)
-                .orElseThrow(() -> new Exception("Technician not found"));
+    private ProfileResponseDto getTechnician(UUID id) {
+        return technicianRepository.findProfileById(id)
+                .map(TechnicianProfileView::toResponse)
+                .orElseThrow(() -> AccountNotFoundException.TECHNICIAN);
+    }
 
-        return ProfileResponseDto.builder()
-                .fullName(tech.getFullName())
-                .email(tech.getEmail())
-                .phoneNumber(tech.getPhoneNumber())
-                .address(tech.getAddress())
-                .profilePhoto(tech.getProfilePhoto())
-                .experience(tech.getExperience())
-                .totalJobsCompleted(tech.getTotalJobsCompleted())
-                .totalEarnings(tech.getTotalEarnings())
-                .role("TECHNICIAN")
-                .build();
+    private ProfileResponseDto getAdmin(UUID id) {
+        return adminRepository.findProfileById(id)
+                .map(AdminProfileView::toResponse)
+                .orElseThrow(() -> AccountNotFoundException.ADMIN);
     }
 
-    private ProfileResponseDto getAdmin(UUID id) throws Exception {
-        Admin admin = adminRepository.findById(id)
-                .orElseThrow(() -> new Exception("Admin not found"));
+    @Override
+    public void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw InvalidRequestException.BATCH_TOO_LARGE;
+        }
+    }
 
-        return ProfileResponseDto.builder()
-                .fullName(admin.getFullName())
-                .email(admin.getEmail())
-                .phoneNumber(admin.getPhoneNumber())
-                .role("ADMIN")
-                .build();
+    /** One IN query per table, streamed so a large batch is never held in memory at once. */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachPublicProfile(Collection<UUID> ids, Consumer<PublicProfileView> action) {
+        checkBatchSize(ids.size());
+        if (ids.isEmpty()) {
+            return;
+        }
+        try (Stream<PublicProfileView> users = userRepository.streamPublicProfilesByIdIn(ids)) {
+            users.forEach(action);
+        }
+        try (Stream<PublicProfileView> technicians = technicianRepository.streamPublicProfilesByIdIn(ids)) {
+            technicians.forEach(action);
+        }
     }
 }
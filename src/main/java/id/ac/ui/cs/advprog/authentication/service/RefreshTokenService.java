@@ -0,0 +1,23 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import java.util.UUID;
+
+public interface RefreshTokenService {
+
+    /** Starts a new token family for a fresh login and returns the raw refresh token. */
+    String issue(UUID accountId, String role);
+
+    /**
+     * Consumes {@code rawToken} and returns its replacement in the same family. Presenting a
+     * token that was already rotated revokes the whole family.
+     */
+    Rotation rotate(String rawToken);
+
+    /** Revokes the family {@code rawToken} belongs to; unknown tokens are ignored. */
+    void revoke(String rawToken);
+
+    void revokeAllForAccount(UUID accountId);
+
+    record Rotation(String refreshToken, UUID accountId, String role) {
+    }
+}
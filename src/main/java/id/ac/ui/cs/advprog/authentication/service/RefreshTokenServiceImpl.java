@@ -0,0 +1,104 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import id.ac.ui.cs.advprog.authentication.exception.InvalidRefreshTokenException;
+import id.ac.ui.cs.advprog.authentication.model.RefreshToken;
+import id.ac.ui.cs.advprog.authentication.repository.RefreshTokenRepository;
+
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long refreshTokenExpirationMs;
+
+    @Autowired
+    public RefreshTokenServiceImpl(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${REFRESH_TOKEN_EXPIRATION_MS:1209600000}") long refreshTokenExpirationMs
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenExpirationMs = refreshTokenExpirationMs;
+    }
+
+    @Override
+    public String issue(UUID accountId, String role) {
+        return issueInFamily(UUID.randomUUID(), accountId, role);
+    }
+
+    /**
+     * Runs without rolling back on rejection so that revoking a family after reuse is
+     * committed even though the caller gets an error.
+     */
+    @Override
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> InvalidRefreshTokenException.INVALID);
+
+        if (current.isRevoked() || refreshTokenRepository.markUsed(current.getId()) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            throw InvalidRefreshTokenException.REUSED;
+        }
+        if (current.getExpiresAt().isBefore(Instant.now())) {
+            throw InvalidRefreshTokenException.EXPIRED;
+        }
+
+        String next = issueInFamily(current.getFamilyId(), current.getAccountId(), current.getRole());
+        return new Rotation(next, current.getAccountId(), current.getRole());
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllForAccount(UUID accountId) {
+        refreshTokenRepository.revokeAllByAccountId(accountId);
+    }
+
+    @Scheduled(fixedDelayString = "${REFRESH_TOKEN_PURGE_INTERVAL_MS:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpiredBefore(Instant.now());
+    }
+
+    private String issueInFamily(UUID familyId, UUID accountId, String role) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant expiresAt = Instant.now().plusMillis(refreshTokenExpirationMs);
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), familyId, accountId, role, expiresAt));
+        return rawToken;
+    }
+
+    /** Tokens are 256 random bits, so a plain SHA-256 is enough; no bcrypt on the refresh path. */
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
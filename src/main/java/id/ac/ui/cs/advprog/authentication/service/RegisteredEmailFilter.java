@@ -0,0 +1,226 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import id.ac.ui.cs.advprog.authentication.repository.CredentialRepository;
+import id.ac.ui.cs.advprog.authentication.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bloom filter over every registered email, so login can turn away unknown emails without looking
+ * them up. Built once the application is ready (after the credential backfill has run), updated
+ * on local registrations and synced with registrations made on other nodes every
+ * {@code REGISTERED_EMAIL_SYNC_INTERVAL_MS}. An account registered on another node can
+ * therefore be turned away here for up to one sync interval. A miss is trusted without a query
+ * while the last sync is younger than the interval; past that (a slow or failing scheduled
+ * sync) the first miss syncs before answering. A "no" is only trusted once the first build has
+ * finished; until then every email is passed through to the database.
+ */
+@Component
+public class RegisteredEmailFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RegisteredEmailFilter.class);
+
+    /** Re-read a little before the last sync so rows committed late or by skewed clocks are not missed. */
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final CredentialRepository credentialRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+    private final Duration syncInterval;
+    private final Counter rejectedCounter;
+    private final Counter falsePositiveCounter;
+
+    private volatile BloomFilter filter;
+    private volatile boolean loaded;
+    /** When the last completed sync started; every registration committed before then is in the filter. */
+    private volatile Instant lastSync;
+    /** One sync at a time, so misses on a stale filter wait for a running sync instead of starting their own. */
+    private final ReentrantLock syncLock = new ReentrantLock();
+    /** Emails added while a rebuild is running, replayed into the new filter; {@code null} otherwise. */
+    private List<String> addedDuringRebuild;
+    private long capacity;
+    private long entries;
+
+    @Autowired
+    public RegisteredEmailFilter(
+            CredentialRepository credentialRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${REGISTERED_EMAIL_EXPECTED_ENTRIES:100000}") long expectedEntries,
+            @Value("${REGISTERED_EMAIL_BLOOM_FPP:0.01}") double falsePositiveRate,
+            @Value("${REGISTERED_EMAIL_SYNC_INTERVAL_MS:10000}") long syncIntervalMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.credentialRepository = credentialRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncInterval = Duration.ofMillis(syncIntervalMs);
+        this.capacity = expectedEntries;
+        this.filter = BloomFilter.create(expectedEntries, falsePositiveRate);
+
+        Gauge.builder("login.email.filter.fpp", this, f -> f.filter.currentFpp())
+                .description("Estimated false positive rate of the registered-email filter")
+                .register(meterRegistry);
+        Gauge.builder("login.email.filter.memory", this, f -> f.filter.memoryBytes())
+                .description("Size of the registered-email filter")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("login.email.filter.rejected")
+                .description("Logins for unknown emails answered without looking the email up")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("login.email.filter.false.positives")
+                .description("Logins the filter passed through for emails that do not exist")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /** {@code false} only if {@code email} is certainly not registered. */
+    public boolean mightBeRegistered(String email) {
+        if (!loaded) {
+            return true;
+        }
+        if (email != null && filter.mightContain(email)) {
+            return true;
+        }
+        if (email != null && isStale() && (!catchUp() || filter.mightContain(email))) {
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    private boolean isStale() {
+        return lastSync.plus(syncInterval).isBefore(Instant.now());
+    }
+
+    /** Syncs unless a miss waiting ahead already did. {@code false} if the sync failed. */
+    private boolean catchUp() {
+        syncLock.lock();
+        try {
+            return !isStale() || sync();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /** Called when the database had no account for an email the filter let through. */
+    public void recordFalsePositive() {
+        if (loaded) {
+            falsePositiveCounter.increment();
+        }
+    }
+
+    public synchronized void add(String email) {
+        filter.put(email);
+        if (addedDuringRebuild != null) {
+            addedDuringRebuild.add(email);
+        }
+        entries++;
+    }
+
+    /** Picks up registrations made on other nodes; rebuilds larger once the filter is over capacity. */
+    @Scheduled(fixedDelayString = "${REGISTERED_EMAIL_SYNC_INTERVAL_MS:10000}")
+    public void syncRegistrations() {
+        if (!loaded) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (!sync()) {
+                return;
+            }
+        } finally {
+            syncLock.unlock();
+        }
+
+        boolean full;
+        synchronized (this) {
+            full = entries > capacity;
+        }
+        if (full) {
+            rebuild();
+        }
+    }
+
+    /** Adds registrations committed since the last sync; callers hold {@link #syncLock}. */
+    private boolean sync() {
+        Instant startedAt = Instant.now();
+        try {
+            credentialRepository.findEmailsCreatedAfter(lastSync.minus(SYNC_OVERLAP)).forEach(this::add);
+        } catch (RuntimeException e) {
+            log.warn("Could not sync registered emails", e);
+            return false;
+        }
+        lastSync = startedAt;
+        return true;
+    }
+
+    /** Bloom filters cannot grow, so a full one is replaced by a freshly loaded larger one. */
+    private void rebuild() {
+        Instant startedAt = Instant.now();
+        synchronized (this) {
+            addedDuringRebuild = new ArrayList<>();
+        }
+        long registered;
+        long newCapacity;
+        BloomFilter next;
+        try {
+            registered = credentialRepository.count();
+            newCapacity = Math.max(expectedEntries, 2 * registered);
+            next = BloomFilter.create(newCapacity, falsePositiveRate);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> emails = credentialRepository.streamAllEmails()) {
+                    emails.forEach(next::put);
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                addedDuringRebuild = null;
+            }
+            log.error("Could not load registered emails; login will query for every email", e);
+            return;
+        }
+        synchronized (this) {
+            addedDuringRebuild.forEach(next::put);
+            filter = next;
+            capacity = newCapacity;
+            entries = registered + addedDuringRebuild.size();
+            addedDuringRebuild = null;
+        }
+        syncLock.lock();
+        try {
+            if (lastSync == null || lastSync.isBefore(startedAt)) {
+                lastSync = startedAt;
+            }
+        } finally {
+            syncLock.unlock();
+        }
+        loaded = true;
+        log.info("Loaded {} registered emails into a {} KiB filter", registered, next.memoryBytes() / 1024);
+    }
+}
@@ -0,0 +1,12 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import java.time.Instant;
+
+public interface TokenRevocationService {
+
+    /** Rejects the access token with this {@code jti} until it would have expired anyway. */
+    void revoke(String tokenId, Instant expiresAt);
+
+    /** Answered from memory; tokens without a {@code jti} are never considered revoked. */
+    boolean isRevoked(String tokenId);
+}
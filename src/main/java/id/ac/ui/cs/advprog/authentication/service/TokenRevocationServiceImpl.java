@@ -0,0 +1,122 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import id.ac.ui.cs.advprog.authentication.model.RevokedToken;
+import id.ac.ui.cs.advprog.authentication.repository.RevokedTokenRepository;
+import id.ac.ui.cs.advprog.authentication.util.BloomFilter;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps every unexpired revocation in memory: a Bloom filter answers the common "not revoked"
+ * case with a few bit reads, and only its rare positives are confirmed against the exact map.
+ * The database is the shared record; each node pulls revocations made elsewhere every
+ * {@code REVOCATION_SYNC_INTERVAL_MS}, so a token revoked on another node stops working there
+ * within one interval. Expired entries are dropped and the filter rebuilt on purge, which keeps
+ * memory proportional to the number of live revoked tokens.
+ */
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationServiceImpl.class);
+
+    /** Re-read a little before the last sync so rows committed late or by skewed clocks are not missed. */
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile Instant lastSync;
+
+    @Autowired
+    public TokenRevocationServiceImpl(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${REVOCATION_EXPECTED_ENTRIES:100000}") int expectedEntries,
+            @Value("${REVOCATION_BLOOM_FPP:0.01}") double falsePositiveRate
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(expectedEntries, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void loadRevocations() {
+        Instant now = Instant.now();
+        revokedTokenRepository.findByExpiresAtAfter(now)
+                .forEach(row -> remember(row.getTokenId(), row.getExpiresAt()));
+        lastSync = now;
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String tokenId, Instant expiresAt) {
+        Instant now = Instant.now();
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(now)) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt, now));
+        remember(tokenId, expiresAt);
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    /** Picks up revocations recorded by other nodes since the last sync. */
+    @Scheduled(fixedDelayString = "${REVOCATION_SYNC_INTERVAL_MS:10000}")
+    public void syncRevocations() {
+        Instant now = Instant.now();
+        Instant since = lastSync == null ? Instant.EPOCH : lastSync.minus(SYNC_OVERLAP);
+        List<RevokedToken> rows = revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since, now);
+        rows.forEach(row -> remember(row.getTokenId(), row.getExpiresAt()));
+        lastSync = now;
+    }
+
+    /** Forgets expired revocations and rebuilds the filter, since Bloom filters cannot delete. */
+    @Scheduled(fixedDelayString = "${REVOCATION_PURGE_INTERVAL_MS:300000}")
+    @Transactional
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        synchronized (this) {
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            BloomFilter rebuilt = BloomFilter.create(Math.max(expectedEntries, 2L * revoked.size()), falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+        }
+        int deleted = revokedTokenRepository.deleteExpiredBefore(now);
+        if (deleted > 0) {
+            log.debug("Purged {} expired token revocations", deleted);
+        }
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    /** Writers are rare (logout, sync), so they serialise with the rebuild; readers never lock. */
+    private synchronized void remember(String tokenId, Instant expiresAt) {
+        revoked.put(tokenId, expiresAt);
+        filter.put(tokenId);
+    }
+}
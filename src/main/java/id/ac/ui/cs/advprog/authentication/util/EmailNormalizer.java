@@ -0,0 +1,21 @@
+package id.ac.ui.cs.advprog.authentication.util;
+
+import java.util.Locale;
+
+/**
+ * The one spelling of an email address that is stored and looked up: surrounding whitespace
+ * removed and lower-cased with {@link Locale#ROOT}, so the result never depends on the server's
+ * default locale. Storing only this form lets the plain unique index on {@code email} reject
+ * {@code Foo@x.com} next to {@code foo@x.com} and serve every lookup with an exact match. The
+ * {@code ck_*_email_normalized} check constraints hold every writer to the same form.
+ */
+public final class EmailNormalizer {
+
+    private EmailNormalizer() {
+    }
+
+    /** Normalized form of {@code email}; {@code null} stays {@code null}. */
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
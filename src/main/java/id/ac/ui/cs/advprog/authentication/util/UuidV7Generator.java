@@ -0,0 +1,41 @@
+package id.ac.ui.cs.advprog.authentication.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+/**
+ * Time-ordered version 7 UUIDs (RFC 9562): a 48-bit Unix millisecond timestamp, a 12-bit counter
+ * that increases within the millisecond, then 62 random bits. Ids created later sort after earlier
+ * ones, so inserts land on the right-hand edge of a primary-key B-tree instead of splitting pages
+ * all over it the way random version 4 ids do. Within one JVM every id is greater than the one
+ * before it, even if the clock steps back.
+ *
+ * <p>Usable as a Hibernate id generator through
+ * {@code @UuidGenerator(algorithm = UuidV7Generator.class)}, or directly through {@link #next()}.
+ */
+public final class UuidV7Generator implements UuidValueGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /** Millisecond timestamp shifted left by 12, plus the counter, of the last id handed out. */
+    private static final AtomicLong LAST_STAMP = new AtomicLong();
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        // Carrying a full counter over into the timestamp keeps ids increasing past 4096 per ms.
+        long stamp = LAST_STAMP.updateAndGet(last -> Math.max(now, last + 1));
+
+        long mostSigBits = (stamp >>> 12) << 16 | 0x7000L | (stamp & 0xFFFL);
+        long leastSigBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+}
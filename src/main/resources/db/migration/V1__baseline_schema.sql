@@ -0,0 +1,40 @@
+-- Schema as Hibernate's ddl-auto=update created it for the original admins, technicians and
+-- users entities. Databases created that way are baselined at this version instead of running it;
+-- everything added since then lives in later migrations.
+
+CREATE TABLE admins (
+    id uuid NOT NULL,
+    full_name varchar(255) NOT NULL,
+    email varchar(255) NOT NULL,
+    phone_number varchar(255) NOT NULL,
+    password varchar(255) NOT NULL,
+    CONSTRAINT pk_admins PRIMARY KEY (id),
+    CONSTRAINT uk_admins_email UNIQUE (email)
+);
+
+CREATE TABLE technicians (
+    id uuid NOT NULL,
+    full_name varchar(255) NOT NULL,
+    email varchar(255) NOT NULL,
+    phone_number varchar(255) NOT NULL,
+    password varchar(255) NOT NULL,
+    experience integer,
+    address varchar(255),
+    profile_photo varchar(255),
+    total_jobs_completed integer NOT NULL,
+    total_earnings double precision NOT NULL,
+    CONSTRAINT pk_technicians PRIMARY KEY (id),
+    CONSTRAINT uk_technicians_email UNIQUE (email)
+);
+
+CREATE TABLE users (
+    id uuid NOT NULL,
+    full_name varchar(255) NOT NULL,
+    email varchar(255) NOT NULL,
+    phone_number varchar(255) NOT NULL,
+    password varchar(255) NOT NULL,
+    address varchar(255),
+    profile_photo varchar(255),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
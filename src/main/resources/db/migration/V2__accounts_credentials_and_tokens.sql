@@ -0,0 +1,51 @@
+-- Everything added to the schema since the baseline: optimistic-lock versions and creation
+-- times on the account tables, the keyset index the admin listing pages through, and the
+-- credentials, refresh token and revoked token tables. IF NOT EXISTS keeps it safe on a database
+-- that an unreleased build already extended through ddl-auto=update.
+
+ALTER TABLE admins ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE admins ADD COLUMN IF NOT EXISTS created_at timestamp(6) with time zone DEFAULT CURRENT_TIMESTAMP NOT NULL;
+ALTER TABLE technicians ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE technicians ADD COLUMN IF NOT EXISTS created_at timestamp(6) with time zone DEFAULT CURRENT_TIMESTAMP NOT NULL;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS created_at timestamp(6) with time zone DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_admins_created_at_id ON admins (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_technicians_created_at_id ON technicians (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users (created_at, id);
+
+CREATE TABLE IF NOT EXISTS credentials (
+    account_id uuid NOT NULL,
+    email varchar(255) NOT NULL,
+    role varchar(16) NOT NULL,
+    password_hash varchar(255) NOT NULL,
+    hash_algorithm varchar(32) NOT NULL,
+    hash_cost integer,
+    version bigint NOT NULL,
+    created_at timestamp(6) with time zone,
+    CONSTRAINT pk_credentials PRIMARY KEY (account_id),
+    CONSTRAINT uk_credentials_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id uuid NOT NULL,
+    token_hash varchar(64) NOT NULL,
+    family_id uuid NOT NULL,
+    account_id uuid NOT NULL,
+    role varchar(255) NOT NULL,
+    expires_at timestamp(6) with time zone NOT NULL,
+    used boolean NOT NULL,
+    revoked boolean NOT NULL,
+    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash)
+);
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_id varchar(64) NOT NULL,
+    expires_at timestamp(6) with time zone NOT NULL,
+    revoked_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT pk_revoked_tokens PRIMARY KEY (token_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,9 @@
+-- Indexes for queries that so far scanned their whole table:
+--   refresh token reuse revokes the family, a password change revokes every token of the
+--   account, and the purge job deletes by expiry;
+--   every node polls credentials for registrations newer than its last sync.
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_account_id ON refresh_tokens (account_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+CREATE INDEX IF NOT EXISTS idx_credentials_created_at ON credentials (created_at);
@@ -0,0 +1,52 @@
+package id.ac.ui.cs.advprog.authentication.config;
+
+import id.ac.ui.cs.advprog.authentication.model.Admin;
+import id.ac.ui.cs.advprog.authentication.model.Credential;
+import id.ac.ui.cs.advprog.authentication.model.User;
+import id.ac.ui.cs.advprog.authentication.repository.AdminRepository;
+import id.ac.ui.cs.advprog.authentication.repository.CredentialRepository;
+import id.ac.ui.cs.advprog.authentication.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class CredentialBackfillTest {
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CredentialRepository credentialRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testBackfillCopiesMissingAccountsOnce() throws Exception {
+        Admin admin = adminRepository.saveAndFlush(
+                new Admin("Admin", "admin@example.com", "1234567890", "$2a$12$abcdefghijklmnopqrstuv"));
+        User user = userRepository.saveAndFlush(
+                new User("User", "user@example.com", "1112223333", "$2a$10$abcdefghijklmnopqrstuv", "Address"));
+        userRepository.saveAndFlush(
+                new User("Shadow", "admin@example.com", "1112223333", "$2a$10$zyxwvutsrqponmlkjihgfe", "Address"));
+
+        CredentialBackfill.backfill(jdbcTemplate);
+        CredentialBackfill.backfill(jdbcTemplate);
+
+        assertEquals(2, credentialRepository.count());
+        Credential adminCredential = credentialRepository.findByEmail("admin@example.com").orElseThrow();
+        assertEquals(admin.getId(), adminCredential.getAccountId());
+        assertEquals("ADMIN", adminCredential.getRole());
+        assertEquals(12, adminCredential.getHashCost());
+        Credential userCredential = credentialRepository.findById(user.getId()).orElseThrow();
+        assertEquals("USER", userCredential.getRole());
+        assertEquals("$2a$10$abcdefghijklmnopqrstuv", userCredential.getPasswordHash());
+    }
+}
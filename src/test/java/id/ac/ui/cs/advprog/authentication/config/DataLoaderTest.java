@@ -1,12 +1,13 @@
 package id.ac.ui.cs.advprog.authentication.config;
 
 import id.ac.ui.cs.advprog.authentication.model.Admin;
+import id.ac.ui.cs.advprog.authentication.model.Credential;
 import id.ac.ui.cs.advprog.authentication.repository.AdminRepository;
+import id.ac.ui.cs.advprog.authentication.repository.CredentialRepository;
+import id.ac.ui.cs.advprog.authentication.security.DelegatingPasswordHasher;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.CommandLineRunner;
 
-import java.util.Optional;
-
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -20,11 +21,14 @@ class DataLoaderTest {
     @Test
     void testLoadAdmin_CreatesAdminIfNoneExists() throws Exception {
         AdminRepository adminRepository = mock(AdminRepository.class);
-        when(adminRepository.findByEmail(DEFAULT_EMAIL)).thenReturn(Optional.empty());
+        CredentialRepository credentialRepository = mock(CredentialRepository.class);
+        when(credentialRepository.existsByEmail(DEFAULT_EMAIL)).thenReturn(false);
 
         CommandLineRunner runner = new DataLoader()
                 .loadAdmin(
                         adminRepository,
+                        credentialRepository,
+                        new DelegatingPasswordHasher("bcrypt", 4, 19456, 2, 1, 600000, false, 250),
                         DEFAULT_NAME,
                         DEFAULT_EMAIL,
                         DEFAULT_PHONE,
@@ -33,23 +37,20 @@ class DataLoaderTest {
         runner.run(new String[0]);
 
         verify(adminRepository, times(1)).save(any(Admin.class));
+        verify(credentialRepository, times(1)).save(any(Credential.class));
     }
 
     @Test
     void testLoadAdmin_DoesNotCreateAdminIfExists() throws Exception {
         AdminRepository adminRepository = mock(AdminRepository.class);
-        Admin existingAdmin = new Admin(
-                DEFAULT_NAME,
-                DEFAULT_EMAIL,
-                DEFAULT_PHONE,
-                "alreadyHashed"
-        );
-        when(adminRepository.findByEmail(DEFAULT_EMAIL))
-                .thenReturn(Optional.of(existingAdmin));
+        CredentialRepository credentialRepository = mock(CredentialRepository.class);
+        when(credentialRepository.existsByEmail(DEFAULT_EMAIL)).thenReturn(true);
 
         CommandLineRunner runner = new DataLoader()
                 .loadAdmin(
                         adminRepository,
+                        credentialRepository,
+                        new DelegatingPasswordHasher("bcrypt", 4, 19456, 2, 1, 600000, false, 250),
                         DEFAULT_NAME,
                         DEFAULT_EMAIL,
                         DEFAULT_PHONE,
@@ -58,5 +59,6 @@ class DataLoaderTest {
         runner.run(new String[0]);
 
         verify(adminRepository, never()).save(any(Admin.class));
+        verify(credentialRepository, never()).save(any(Credential.class));
     }
 }
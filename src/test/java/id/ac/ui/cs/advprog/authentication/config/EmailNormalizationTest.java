@@ -0,0 +1,59 @@
+package id.ac.ui.cs.advprog.authentication.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against a database migrated only up to the schema before migration 5, since the check
+ * constraint of migration 6 no longer lets mixed-case emails be stored.
+ */
+class EmailNormalizationTest {
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (id, full_name, email, phone_number, password, address)
+            VALUES (?, 'Name', ?, '1112223333', '$2a$10$abcdefghijklmnopqrstuv', 'Address')
+            """;
+
+    private static final String SINGLE = "00000000-0000-0000-0000-000000000001";
+    private static final String LOWER = "00000000-0000-0000-0000-000000000002";
+    private static final String UPPER = "00000000-0000-0000-0000-000000000003";
+
+    @Test
+    void testNormalizesEmailsAndReportsCollisions() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:email-normalization;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).target("3").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update(INSERT_USER, SINGLE, "Single@Example.com");
+        jdbcTemplate.update(INSERT_USER, LOWER, "twin@example.com");
+        jdbcTemplate.update(INSERT_USER, UPPER, "Twin@Example.com");
+        jdbcTemplate.update("""
+                INSERT INTO credentials (account_id, email, role, password_hash, hash_algorithm, version, created_at)
+                VALUES (?, 'Single@Example.com', 'USER', 'hash', 'bcrypt', 0, CURRENT_TIMESTAMP)
+                """, SINGLE);
+
+        List<EmailNormalization.Collision> collisions = EmailNormalization.normalize(jdbcTemplate);
+        List<EmailNormalization.Collision> again = EmailNormalization.normalize(jdbcTemplate);
+
+        assertEquals(1, collisions.size());
+        assertEquals("users", collisions.get(0).table());
+        assertEquals(UPPER, collisions.get(0).id().toString());
+        assertEquals("Twin@Example.com", collisions.get(0).email());
+        assertEquals(collisions, again);
+        assertEquals("single@example.com", emailOf(jdbcTemplate, SINGLE));
+        assertEquals("twin@example.com", emailOf(jdbcTemplate, LOWER));
+        assertEquals("Twin@Example.com", emailOf(jdbcTemplate, UPPER));
+        assertEquals("single@example.com", jdbcTemplate.queryForObject(
+                "SELECT email FROM credentials WHERE account_id = ?", String.class, SINGLE));
+    }
+
+    private static String emailOf(JdbcTemplate jdbcTemplate, String id) {
+        return jdbcTemplate.queryForObject("SELECT email FROM users WHERE id = ?", String.class, id);
+    }
+}
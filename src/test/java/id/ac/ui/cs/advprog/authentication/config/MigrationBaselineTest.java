@@ -0,0 +1,89 @@
+package id.ac.ui.cs.advprog.authentication.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A database that the original service created with ddl-auto=update is baselined at version 1 and
+ * migrated to the same schema a new database gets.
+ */
+class MigrationBaselineTest {
+
+    /** The DDL Hibernate ran for the original admins, technicians and users entities. */
+    private static final String LEGACY_SCHEMA = """
+            create table admins (id uuid not null, email varchar(255) not null, full_name varchar(255) not null, password varchar(255) not null, phone_number varchar(255) not null, primary key (id));
+            create table technicians (id uuid not null, address varchar(255), email varchar(255) not null, experience integer, full_name varchar(255) not null, password varchar(255) not null, phone_number varchar(255) not null, profile_photo varchar(255), total_earnings float(53) not null, total_jobs_completed integer not null, primary key (id));
+            create table users (id uuid not null, address varchar(255), email varchar(255) not null, full_name varchar(255) not null, password varchar(255) not null, phone_number varchar(255) not null, profile_photo varchar(255), primary key (id));
+            alter table if exists admins add constraint UK47bvqemyk6vlm0w7crc3opdd4 unique (email);
+            alter table if exists technicians add constraint UK9miamdt1dkijdehwsr5kc4mgp unique (email);
+            alter table if exists users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+            insert into admins (id, email, full_name, password, phone_number)
+                values ('00000000-0000-0000-0000-000000000001', 'admin@example.com', 'Admin', '$2a$12$abcdefghijklmnopqrstuv', '1234567890');
+            insert into users (id, address, email, full_name, password, phone_number, profile_photo)
+                values ('00000000-0000-0000-0000-000000000002', 'Address', 'Legacy@Example.com', 'User', '$2a$10$abcdefghijklmnopqrstuv', '1112223333', 'default-user.png');
+            """;
+
+    private static final String COLUMNS = """
+            SELECT table_name, column_name, data_type, is_nullable, character_maximum_length
+            FROM information_schema.columns
+            WHERE table_schema = 'PUBLIC' AND table_name <> 'flyway_schema_history'
+            ORDER BY table_name, column_name
+            """;
+
+    @Test
+    void testLegacyDatabaseMigratesToCurrentSchema() {
+        DataSource legacy = dataSource("legacy");
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+        for (String statement : LEGACY_SCHEMA.split(";\\s*")) {
+            if (!statement.isBlank()) {
+                legacyJdbc.execute(statement);
+            }
+        }
+        DataSource fresh = dataSource("fresh");
+
+        migrate(legacy);
+        migrate(fresh);
+
+        assertEquals("6", legacyJdbc.queryForObject(
+                "SELECT \"version\" FROM \"flyway_schema_history\" ORDER BY \"installed_rank\" DESC LIMIT 1", String.class));
+        List<Map<String, Object>> legacyColumns = legacyJdbc.queryForList(COLUMNS);
+        assertEquals(new JdbcTemplate(fresh).queryForList(COLUMNS), legacyColumns);
+        assertTrue(legacyColumns.stream().anyMatch(column -> "REFRESH_TOKENS".equals(column.get("TABLE_NAME"))));
+
+        assertEquals(2, legacyJdbc.queryForObject("SELECT COUNT(*) FROM credentials", Integer.class));
+        Map<String, Object> user = legacyJdbc.queryForMap(
+                "SELECT email, version, created_at FROM users WHERE id = '00000000-0000-0000-0000-000000000002'");
+        assertEquals("legacy@example.com", user.get("EMAIL"));
+        assertEquals(1L, user.get("VERSION"));
+        assertNotNull(user.get("CREATED_AT"));
+        assertEquals("legacy@example.com", legacyJdbc.queryForObject(
+                "SELECT email FROM credentials WHERE account_id = '00000000-0000-0000-0000-000000000002'", String.class));
+        assertThrows(DataIntegrityViolationException.class, () -> legacyJdbc.update(
+                "UPDATE credentials SET email = 'Legacy@Example.com' WHERE email = 'legacy@example.com'"));
+    }
+
+    private static DataSource dataSource(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    /** The Flyway settings from application.properties, with the Java migrations Spring registers. */
+    private static void migrate(DataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .javaMigrations(new CredentialBackfill(), new EmailNormalization())
+                .load()
+                .migrate();
+    }
+}
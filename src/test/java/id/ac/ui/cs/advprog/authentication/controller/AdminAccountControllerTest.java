@@ -0,0 +1,245 @@
+package id.ac.ui.cs.advprog.authentication.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import id.ac.ui.cs.advprog.authentication.config.SecurityConfig;
+import id.ac.ui.cs.advprog.authentication.dto.AccountPage;
+import id.ac.ui.cs.advprog.authentication.dto.AccountSummary;
+import id.ac.ui.cs.advprog.authentication.dto.ImportReport;
+import id.ac.ui.cs.advprog.authentication.dto.ImportRowResult;
+import id.ac.ui.cs.advprog.authentication.dto.TechnicianRegistrationDto;
+import id.ac.ui.cs.advprog.authentication.dto.UserRegistrationDto;
+import id.ac.ui.cs.advprog.authentication.model.AccountType;
+import id.ac.ui.cs.advprog.authentication.security.JwtTokenProvider;
+import id.ac.ui.cs.advprog.authentication.service.AccountDirectoryService;
+import id.ac.ui.cs.advprog.authentication.service.AccountImportService;
+import id.ac.ui.cs.advprog.authentication.service.TokenRevocationService;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(AdminAccountController.class)
+@Import(SecurityConfig.class)
+class AdminAccountControllerTest {
+
+    private static final AccountSummary ALICE = new AccountSummary(
+            UUID.fromString("00000000-0000-0000-0000-000000000001"), "USER", "Alice, Jr.", "alice@example.com",
+            "123", Instant.parse("2026-01-01T00:00:00Z"));
+    private static final AccountSummary BOB = new AccountSummary(
+            UUID.fromString("00000000-0000-0000-0000-000000000002"), "USER", "Bob \"B\"", "bob@example.com",
+            "456", Instant.parse("2026-01-02T00:00:00Z"));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AccountDirectoryService accountDirectoryService;
+
+    @MockBean
+    private AccountImportService accountImportService;
+
+    @MockBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    @WithMockUser(username = "user-uuid", roles = "USER")
+    void listAccounts_forbiddenForNonAdmins() throws Exception {
+        mockMvc.perform(get("/admin/accounts/users"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "admin-uuid", roles = "ADMIN")
+    void listAccounts_returnsPageAndCursor() throws Exception {
+        when(accountDirectoryService.listAccounts(AccountType.TECHNICIAN, "abc", 10))
+                .thenReturn(new AccountPage(List.of(ALICE), "next"));
+
+        mockMvc.perform(get("/admin/accounts/technicians").param("cursor", "abc").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].email").value("alice@example.com"))
+                .andExpect(jsonPath("$.items[0].createdAt").value("2026-01-01T00:00:00Z"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin-uuid", roles = "ADMIN")
+    void listAccounts_unknownType() throws Exception {
+        mockMvc.perform(get("/admin/accounts/guests"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Account type must be users, technicians or admins"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin-uuid", roles = "ADMIN")
+    void exportAccounts_ndjson() throws Exception {
+        stubExport();
+
+        MvcResult result = mockMvc.perform(get("/admin/accounts/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(-1, result.getRequest().getAsyncContext().getTimeout());
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(true, lines[0].startsWith("{\"id\":\"00000000-0000-0000-0000-000000000001\""));
+        assertEquals(true, lines[1].startsWith("{\"id\":\"00000000-0000-0000-0000-000000000002\""));
+    }
+
+    @Test
+    @WithMockUser(username = "admin-uuid", roles = "ADMIN")
+    void exportAccounts_csvQuotesFields() throws Exception {
+        stubExport();
+
+        MvcResult result = mockMvc.perform(get("/admin/accounts/users/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("""
+                        id,role,fullName,email,phoneNumber,createdAt\r
+                        00000000-0000-0000-0000-000000000001,USER,"Alice, Jr.",alice@example.com,123,2026-01-01T00:00:00Z\r
+                        00000000-0000-0000-0000-000000000002,USER,"Bob ""B\""",bob@example.com,456,2026-01-02T00:00:00Z\r
+                        """));
+    }
+
+    @Test
+    @WithMockUser(username = "admin-uuid", roles = "ADMIN")
+    void exportAccounts_csvNeutralizesFormulas() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<AccountSummary> action = invocation.getArgument(1);
+            action.accept(new AccountSummary(ALICE.id(), "USER", "=HYPERLINK(\"http://x\")", "@x.com",
+                    "+62811", ALICE.createdAt()));
+            return null;
+        }).when(accountDirectoryService).exportAccounts(eq(AccountType.USER), any());
+
+        MvcResult result = mockMvc.perform(get("/admin/accounts/users/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("""
+                        id,role,fullName,email,phoneNumber,createdAt\r
+                        00000000-0000-0000-0000-000000000001,USER,"'=HYPERLINK(""http://x"")",'@x.com,'+62811,2026-01-01T00:00:00Z\r
+                        """));
+    }
+
+    @Test
+    @WithMockUser(username = "admin-uuid", roles = "ADMIN")
+    void exportAccounts_unsupportedFormat() throws Exception {
+        mockMvc.perform(get("/admin/accounts/users/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Export format must be ndjson or csv"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin-uuid", roles = "ADMIN")
+    void importAccounts_csvUsers() throws Exception {
+        List<UserRegistrationDto> received = new ArrayList<>();
+        when(accountImportService.importUsers(any())).thenAnswer(invocation -> {
+            Iterator<UserRegistrationDto> records = invocation.getArgument(0);
+            records.forEachRemaining(received::add);
+            return ImportReport.of(List.of(
+                    ImportRowResult.created(1, "a@example.com", ALICE.id()),
+                    ImportRowResult.failed(2, "b@example.com", "Email is already in use")));
+        });
+
+        mockMvc.perform(post("/admin/accounts/users/import")
+                        .contentType("text/csv")
+                        .content("""
+                                fullName,email,phoneNumber,password,address
+                                "Alice, Jr.",a@example.com,08123456789,Str0ng!Pass,Home
+                                Bob,b@example.com,08123456780,Str0ng!Pass,Office
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.rows[0].id").value(ALICE.id().toString()))
+                .andExpect(jsonPath("$.rows[1].error").value("Email is already in use"))
+                .andExpect(jsonPath("$.rows[1].id").doesNotExist());
+
+        assertEquals(2, received.size());
+        assertEquals("Alice, Jr.", received.get(0).getFullName());
+        assertEquals("Office", received.get(1).getAddress());
+    }
+
+    @Test
+    @WithMockUser(username = "admin-uuid", roles = "ADMIN")
+    void importAccounts_jsonArrayTechnicians() throws Exception {
+        List<TechnicianRegistrationDto> received = new ArrayList<>();
+        when(accountImportService.importTechnicians(any())).thenAnswer(invocation -> {
+            Iterator<TechnicianRegistrationDto> records = invocation.getArgument(0);
+            records.forEachRemaining(received::add);
+            return ImportReport.of(List.of());
+        });
+
+        mockMvc.perform(post("/admin/accounts/technicians/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"fullName": "Tech", "email": "t@example.com", "experience": 3},
+                                 {"fullName": "Tech 2", "email": "t2@example.com", "experience": 5}]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(0));
+
+        assertEquals(2, received.size());
+        assertEquals(5, received.get(1).getExperience());
+    }
+
+    @Test
+    @WithMockUser(username = "admin-uuid", roles = "ADMIN")
+    void importAccounts_adminsNotAllowed() throws Exception {
+        mockMvc.perform(post("/admin/accounts/admins/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Only users and technicians can be imported"));
+    }
+
+    private void stubExport() {
+        doAnswer(invocation -> {
+            Consumer<AccountSummary> action = invocation.getArgument(1);
+            action.accept(ALICE);
+            action.accept(BOB);
+            return null;
+        }).when(accountDirectoryService).exportAccounts(eq(AccountType.USER), any());
+    }
+}
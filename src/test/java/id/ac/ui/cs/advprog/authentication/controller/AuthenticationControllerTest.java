@@ -2,6 +2,7 @@ package id.ac.ui.cs.advprog.authentication.controller;
 
 import static org.hamcrest.Matchers.isEmptyString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -27,10 +28,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import id.ac.ui.cs.advprog.authentication.dto.AuthRequest;
 import id.ac.ui.cs.advprog.authentication.dto.AuthResponse;
 import id.ac.ui.cs.advprog.authentication.dto.ChangePasswordDto;
+import id.ac.ui.cs.advprog.authentication.dto.RefreshRequest;
 import id.ac.ui.cs.advprog.authentication.dto.TechnicianRegistrationDto;
 import id.ac.ui.cs.advprog.authentication.dto.UserRegistrationDto;
+import id.ac.ui.cs.advprog.authentication.exception.InvalidCredentialsException;
+import id.ac.ui.cs.advprog.authentication.exception.InvalidRefreshTokenException;
+import id.ac.ui.cs.advprog.authentication.exception.InvalidRequestException;
 import id.ac.ui.cs.advprog.authentication.security.JwtTokenProvider;
+import id.ac.ui.cs.advprog.authentication.security.LoginThrottledException;
+import id.ac.ui.cs.advprog.authentication.security.PasswordHashingOverloadedException;
 import id.ac.ui.cs.advprog.authentication.service.AuthenticationService;
+import id.ac.ui.cs.advprog.authentication.service.TokenRevocationService;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(AuthenticationController.class)
@@ -49,9 +57,12 @@ class AuthenticationControllerTest {
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
 
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
     @Test
     void loginSuccess() throws Exception {
-        when(authenticationService.login(any(AuthRequest.class)))
+        when(authenticationService.login(any(AuthRequest.class), any()))
                 .thenReturn(new AuthResponse("token123"));
 
         AuthRequest req = new AuthRequest();
@@ -77,10 +88,50 @@ class AuthenticationControllerTest {
                 .andExpect(jsonPath("$.password").exists());
     }
 
+    @Test
+    void loginOverloadedReturnsServiceUnavailable() throws Exception {
+        when(authenticationService.login(any(AuthRequest.class), any()))
+                .thenThrow(new PasswordHashingOverloadedException(2));
+
+        AuthRequest req = new AuthRequest();
+        req.setEmail("user@example.com");
+        req.setPassword("Password123!");
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req))
+                        .with(csrf()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void loginThrottledReturnsTooManyRequests() throws Exception {
+        when(authenticationService.login(any(AuthRequest.class), eq("10.1.2.3")))
+                .thenThrow(new LoginThrottledException(900));
+
+        AuthRequest req = new AuthRequest();
+        req.setEmail("user@example.com");
+        req.setPassword("Password123!");
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req))
+                        .with(request -> {
+                            request.setRemoteAddr("10.1.2.3");
+                            return request;
+                        })
+                        .with(csrf()))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "900"))
+                .andExpect(jsonPath("$.error").exists());
+    }
+
     @Test
     void loginFailure() throws Exception {
-        when(authenticationService.login(any(AuthRequest.class)))
-                .thenThrow(new Exception("Bad credentials"));
+        when(authenticationService.login(any(AuthRequest.class), any()))
+                .thenThrow(InvalidCredentialsException.INVALID_LOGIN);
 
         AuthRequest req = new AuthRequest();
         req.setEmail("user@example.com");
@@ -91,7 +142,50 @@ class AuthenticationControllerTest {
                         .content(objectMapper.writeValueAsString(req))
                         .with(csrf()))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.error").value("Bad credentials"));
+                .andExpect(jsonPath("$.error").value("Invalid email or password"));
+    }
+
+    @Test
+    void refreshSuccess() throws Exception {
+        when(authenticationService.refresh("oldrefresh"))
+                .thenReturn(new AuthResponse("token456", "newrefresh"));
+
+        RefreshRequest req = new RefreshRequest();
+        req.setRefreshToken("oldrefresh");
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("token456"))
+                .andExpect(jsonPath("$.refreshToken").value("newrefresh"));
+    }
+
+    @Test
+    void refreshValidationError() throws Exception {
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.refreshToken").exists());
+    }
+
+    @Test
+    void refreshFailure() throws Exception {
+        when(authenticationService.refresh("stale"))
+                .thenThrow(InvalidRefreshTokenException.REUSED);
+
+        RefreshRequest req = new RefreshRequest();
+        req.setRefreshToken("stale");
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Refresh token reuse detected; please log in again"));
     }
 
     @Test
@@ -126,7 +220,7 @@ class AuthenticationControllerTest {
 
     @Test
     void registerUserDuplicateEmail() throws Exception {
-        doThrow(new IllegalArgumentException("Email is already in use"))
+        doThrow(InvalidRequestException.EMAIL_IN_USE)
                 .when(authenticationService).registerUser(any(UserRegistrationDto.class));
 
         UserRegistrationDto dto = new UserRegistrationDto();
@@ -195,7 +289,7 @@ class AuthenticationControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void registerTechnicianDuplicateEmail() throws Exception {
-        doThrow(new IllegalArgumentException("Email is already in use"))
+        doThrow(InvalidRequestException.EMAIL_IN_USE)
                 .when(authenticationService).registerTechnician(any(TechnicianRegistrationDto.class));
 
         TechnicianRegistrationDto dto = new TechnicianRegistrationDto();
@@ -260,7 +354,7 @@ class AuthenticationControllerTest {
     @Test
     @WithMockUser(username = "user-123")
     void changePasswordFailure() throws Exception {
-        doThrow(new IllegalArgumentException("Old password is incorrect"))
+        doThrow(InvalidCredentialsException.WRONG_OLD_PASSWORD)
                 .when(authenticationService).changePassword("user-123", "WrongOldPass1!", "NewPassword123!");
 
         ChangePasswordDto dto = new ChangePasswordDto();
@@ -275,4 +369,31 @@ class AuthenticationControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Old password is incorrect"));
     }
+
+    @Test
+    @WithMockUser(username = "user-123")
+    void logoutRevokesAccessAndRefreshToken() throws Exception {
+        RefreshRequest req = new RefreshRequest();
+        req.setRefreshToken("refresh123");
+
+        mockMvc.perform(post("/auth/logout")
+                        .header("Authorization", "Bearer token123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req))
+                        .with(csrf()))
+                .andExpect(status().isOk());
+
+        verify(authenticationService).logout("token123", "refresh123");
+    }
+
+    @Test
+    @WithMockUser(username = "user-123")
+    void logoutWithoutBodyRevokesAccessToken() throws Exception {
+        mockMvc.perform(post("/auth/logout")
+                        .header("Authorization", "Bearer token123")
+                        .with(csrf()))
+                .andExpect(status().isOk());
+
+        verify(authenticationService).logout("token123", null);
+    }
 }
@@ -0,0 +1,75 @@
+package id.ac.ui.cs.advprog.authentication.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import id.ac.ui.cs.advprog.authentication.dto.AuthRequest;
+import id.ac.ui.cs.advprog.authentication.dto.AuthResponse;
+import id.ac.ui.cs.advprog.authentication.service.AuthenticationService;
+
+/**
+ * Runs against the embedded server, where forwarded headers are applied, to check that login
+ * throttles on the client behind a trusted proxy rather than on the proxy.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ForwardedHeadersTest {
+
+    private static final String LOGIN_BODY = "{\"email\":\"user@example.com\",\"password\":\"Password123!\"}";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @MockBean
+    private AuthenticationService authenticationService;
+
+    @Test
+    void loginUsesForwardedClientAddressFromTrustedProxy() {
+        // Arrange
+        when(authenticationService.login(any(AuthRequest.class), eq("203.0.113.7")))
+                .thenReturn(new AuthResponse("token"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", "203.0.113.7");
+
+        // Act
+        ResponseEntity<String> response = restTemplate.postForEntity("/auth/login",
+                new HttpEntity<>(LOGIN_BODY, headers), String.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(authenticationService).login(any(AuthRequest.class), eq("203.0.113.7"));
+    }
+
+    @Test
+    void loginUsesConnectionAddressWithoutForwardedHeader() {
+        // Arrange
+        when(authenticationService.login(any(AuthRequest.class), eq("127.0.0.1")))
+                .thenReturn(new AuthResponse("token"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        // Act
+        ResponseEntity<String> response = restTemplate.postForEntity("/auth/login",
+                new HttpEntity<>(LOGIN_BODY, headers), String.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(authenticationService).login(any(AuthRequest.class), eq("127.0.0.1"));
+    }
+}
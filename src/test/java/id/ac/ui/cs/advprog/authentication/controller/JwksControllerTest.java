@@ -0,0 +1,71 @@
+package id.ac.ui.cs.advprog.authentication.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import id.ac.ui.cs.advprog.authentication.security.JwtTokenProvider;
+import id.ac.ui.cs.advprog.authentication.service.TokenRevocationService;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(JwksController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class JwksControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    private final Map<String, Object> jwk = Map.of(
+            "kty", "EC", "crv", "P-256", "x", "abc", "y", "def", "kid", "key-1", "alg", "ES256", "use", "sig");
+
+    @Test
+    void getJwks_returnsKeysWithCacheHeaders() throws Exception {
+        when(jwtTokenProvider.getPublicJwks()).thenReturn(List.of(jwk));
+
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.keys[0].kid").value("key-1"))
+                .andExpect(jsonPath("$.keys[0].alg").value("ES256"));
+    }
+
+    @Test
+    void getJwks_returnsNotModifiedForMatchingETag() throws Exception {
+        when(jwtTokenProvider.getPublicJwks()).thenReturn(List.of(jwk));
+        String etag = mockMvc.perform(get("/.well-known/jwks.json"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/.well-known/jwks.json").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getJwks_returnsEmptySetForHmacSigning() throws Exception {
+        when(jwtTokenProvider.getPublicJwks()).thenReturn(List.of());
+
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.keys").isEmpty());
+    }
+}
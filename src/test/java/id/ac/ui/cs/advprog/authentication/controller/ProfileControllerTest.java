@@ -1,16 +1,28 @@
 package id.ac.ui.cs.advprog.authentication.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
@@ -21,13 +33,18 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import id.ac.ui.cs.advprog.authentication.dto.ProfileResponseDto;
 import id.ac.ui.cs.advprog.authentication.dto.ProfileUpdateDto;
+import id.ac.ui.cs.advprog.authentication.dto.PublicProfileView;
+import id.ac.ui.cs.advprog.authentication.exception.AccountNotFoundException;
+import id.ac.ui.cs.advprog.authentication.exception.InvalidRequestException;
 import id.ac.ui.cs.advprog.authentication.security.JwtTokenProvider;
 import id.ac.ui.cs.advprog.authentication.service.ProfileService;
+import id.ac.ui.cs.advprog.authentication.service.TokenRevocationService;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(ProfileController.class)
@@ -45,6 +62,9 @@ class ProfileControllerTest {
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
 
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
     @Test
     void getProfile_requiresAuth() throws Exception {
         mockMvc.perform(get("/profile"))
@@ -75,6 +95,42 @@ class ProfileControllerTest {
         verify(profileService).getProfile("user-uuid", "USER");
     }
 
+    @Test
+    @WithMockUser(username = "user-uuid", roles = "USER")
+    void getProfile_setsETagFromVersion() throws Exception {
+        ProfileResponseDto dto = ProfileResponseDto.builder()
+                .fullName("Alice")
+                .version(3L)
+                .build();
+
+        when(profileService.getProfile("user-uuid", "USER")).thenReturn(dto);
+
+        mockMvc.perform(get("/profile"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"user-uuid-3\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "user-uuid", roles = "USER")
+    void getProfile_matchingIfNoneMatchReturnsNotModified() throws Exception {
+        ProfileResponseDto dto = ProfileResponseDto.builder()
+                .fullName("Alice")
+                .version(3L)
+                .build();
+
+        when(profileService.getProfile("user-uuid", "USER")).thenReturn(dto);
+
+        mockMvc.perform(get("/profile").header("If-None-Match", "\"user-uuid-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/profile").header("If-None-Match", "\"user-uuid-2\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullName").value("Alice"));
+    }
+
     @Test
     @WithMockUser(username = "tech-uuid", roles = "TECHNICIAN")
     void getProfile_returnsTechnicianProfile() throws Exception {
@@ -124,11 +180,11 @@ class ProfileControllerTest {
     @WithMockUser(username = "guest-uuid", roles = "GUEST")
     void getProfile_invalidRole() throws Exception {
         when(profileService.getProfile("guest-uuid", "GUEST"))
-                .thenThrow(new Exception("Profile retrieval not allowed"));
+                .thenThrow(InvalidRequestException.PROFILE_RETRIEVAL_NOT_ALLOWED);
 
         mockMvc.perform(get("/profile"))
                 .andExpect(status().isBadRequest())
-                .andExpect(content().string("Profile retrieval not allowed"));
+                .andExpect(jsonPath("$.error").value("Profile retrieval not allowed for this role"));
 
         verify(profileService).getProfile("guest-uuid", "GUEST");
     }
@@ -178,15 +234,59 @@ class ProfileControllerTest {
         reqDto.setFullName("X");
 
         when(profileService.updateProfile(any(ProfileUpdateDto.class), eq("user-uuid"), eq("USER")))
-                .thenThrow(new Exception("Update failed"));
+                .thenThrow(AccountNotFoundException.USER);
 
         mockMvc.perform(put("/profile")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(reqDto)))
                 .andExpect(status().isBadRequest())
-                .andExpect(content().string("Update failed"));
+                .andExpect(jsonPath("$.error").value("User not found"));
 
         verify(profileService).updateProfile(any(ProfileUpdateDto.class), eq("user-uuid"), eq("USER"));
     }
+
+    @Test
+    @WithMockUser(username = "order-service", roles = "USER")
+    void getProfiles_streamsPublicProfiles() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID techId = UUID.randomUUID();
+        doAnswer(invocation -> {
+            Consumer<PublicProfileView> action = invocation.getArgument(1);
+            action.accept(new PublicProfileView(userId, "USER", "Alice", "alice.png"));
+            action.accept(new PublicProfileView(techId, "TECHNICIAN", "Bob", "bob.png", 4, 12));
+            return null;
+        }).when(profileService).forEachPublicProfile(eq(Set.of(userId, techId)), any());
+
+        MvcResult result = mockMvc.perform(post("/profile/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"" + userId + "\",\"" + techId + "\",\"" + userId + "\"]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(120000, result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(userId.toString()))
+                .andExpect(jsonPath("$[0].experience").doesNotExist())
+                .andExpect(jsonPath("$[1].role").value("TECHNICIAN"))
+                .andExpect(jsonPath("$[1].totalJobsCompleted").value(12));
+    }
+
+    @Test
+    @WithMockUser(username = "order-service", roles = "USER")
+    void getProfiles_tooManyIds() throws Exception {
+        doThrow(InvalidRequestException.BATCH_TOO_LARGE).when(profileService).checkBatchSize(2);
+
+        mockMvc.perform(post("/profile/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"" + UUID.randomUUID() + "\",\"" + UUID.randomUUID() + "\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Too many ids in one batch"));
+
+        verify(profileService, never()).forEachPublicProfile(any(), any());
+    }
 }
@@ -0,0 +1,32 @@
+package id.ac.ui.cs.advprog.authentication.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ServiceExceptionTest {
+
+    @Test
+    void testInstancesCarryNoStackTrace() {
+        assertEquals(0, InvalidCredentialsException.INVALID_LOGIN.getStackTrace().length);
+        assertEquals(0, AccountNotFoundException.USER.getStackTrace().length);
+    }
+
+    @Test
+    void testSuppressionDisabledSoSharedInstancesStayImmutable() {
+        InvalidCredentialsException.INVALID_LOGIN.addSuppressed(new IllegalStateException("other"));
+
+        assertEquals(0, InvalidCredentialsException.INVALID_LOGIN.getSuppressed().length);
+    }
+
+    @Test
+    void testBodyIsPrecomputed() {
+        Map<String, String> body = InvalidRequestException.EMAIL_IN_USE.getBody();
+
+        assertEquals(Map.of("error", "Email is already in use"), body);
+        assertSame(body, InvalidRequestException.EMAIL_IN_USE.getBody());
+    }
+}
@@ -0,0 +1,33 @@
+package id.ac.ui.cs.advprog.authentication.model;
+
+import org.junit.jupiter.api.Test;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CredentialTest {
+
+    private static final UUID ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Test
+    void testLegacyBcryptHashParameters() {
+        Credential credential = new Credential(ID, "user@example.com", "USER", "$2a$10$abcdefghijklmnopqrstuv");
+
+        assertEquals("bcrypt", credential.getHashAlgorithm());
+        assertEquals(10, credential.getHashCost());
+    }
+
+    @Test
+    void testPrefixedHashParameters() {
+        Credential credential = new Credential(ID, "user@example.com", "USER", "{bcrypt}$2a$12$abcdefghijklmnopqrstuv");
+        assertEquals("bcrypt", credential.getHashAlgorithm());
+        assertEquals(12, credential.getHashCost());
+
+        credential.updatePasswordHash("{argon2id}$argon2id$v=19$m=19456,t=2,p=1$c2FsdA$aGFzaA");
+        assertEquals("argon2id", credential.getHashAlgorithm());
+        assertEquals(2, credential.getHashCost());
+
+        credential.updatePasswordHash("{pbkdf2@600000}abcdef");
+        assertEquals("pbkdf2", credential.getHashAlgorithm());
+        assertEquals(600000, credential.getHashCost());
+    }
+}
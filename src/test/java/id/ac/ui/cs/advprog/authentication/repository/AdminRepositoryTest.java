@@ -1,6 +1,8 @@
 package id.ac.ui.cs.advprog.authentication.repository;
 
 import id.ac.ui.cs.advprog.authentication.model.Admin;
+import id.ac.ui.cs.advprog.authentication.dto.AdminProfileView;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -22,4 +24,14 @@ class AdminRepositoryTest {
         assertTrue(found.isPresent());
         assertEquals("Admin Name", found.get().getFullName());
     }
+
+    @Test
+    void testFindProfileByIdProjectsProfileColumns() {
+        Admin admin = adminRepository.saveAndFlush(new Admin("Admin Name", "view@example.com", "1234567890", "hashedPassword"));
+
+        AdminProfileView view = adminRepository.findProfileById(admin.getId()).orElseThrow();
+
+        assertEquals("view@example.com", view.email());
+        assertTrue(adminRepository.findProfileById(UUID.randomUUID()).isEmpty());
+    }
 }
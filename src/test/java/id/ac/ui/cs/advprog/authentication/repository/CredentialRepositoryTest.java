@@ -0,0 +1,52 @@
+package id.ac.ui.cs.advprog.authentication.repository;
+
+import id.ac.ui.cs.advprog.authentication.model.Credential;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class CredentialRepositoryTest {
+
+    @Autowired
+    private CredentialRepository credentialRepository;
+
+    @Test
+    void testFindByEmail() {
+        UUID accountId = UUID.randomUUID();
+        credentialRepository.save(new Credential(accountId, "user@example.com", "USER",
+                "$2a$10$abcdefghijklmnopqrstuv"));
+
+        Optional<Credential> found = credentialRepository.findByEmail("user@example.com");
+        assertTrue(found.isPresent());
+        assertEquals(accountId, found.get().getAccountId());
+        assertEquals("bcrypt", found.get().getHashAlgorithm());
+        assertEquals(10, found.get().getHashCost());
+        assertEquals(0L, found.get().getVersion());
+    }
+
+    @Test
+    void testExistsByEmail() {
+        credentialRepository.save(new Credential(UUID.randomUUID(), "tech@example.com", "TECHNICIAN", "hash"));
+
+        assertTrue(credentialRepository.existsByEmail("tech@example.com"));
+        assertFalse(credentialRepository.existsByEmail("other@example.com"));
+    }
+
+    @Test
+    void testEmailsStreamedAndFoundByCreationTime() {
+        Instant before = Instant.now().minusSeconds(1);
+        credentialRepository.save(new Credential(UUID.randomUUID(), "new@example.com", "USER", "hash"));
+
+        try (var emails = credentialRepository.streamAllEmails()) {
+            assertEquals(List.of("new@example.com"), emails.toList());
+        }
+        assertEquals(List.of("new@example.com"), credentialRepository.findEmailsCreatedAfter(before));
+        assertTrue(credentialRepository.findEmailsCreatedAfter(Instant.now().plusSeconds(60)).isEmpty());
+    }
+}
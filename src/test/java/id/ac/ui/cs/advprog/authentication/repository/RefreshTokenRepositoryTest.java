@@ -0,0 +1,53 @@
+package id.ac.ui.cs.advprog.authentication.repository;
+
+import id.ac.ui.cs.advprog.authentication.model.RefreshToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import java.time.Instant;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class RefreshTokenRepositoryTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Test
+    void testSaveAssignsTimeOrderedId() {
+        RefreshToken token = refreshTokenRepository.save(new RefreshToken(
+                "d".repeat(64), UUID.randomUUID(), UUID.randomUUID(), "USER", Instant.now().plusSeconds(60)));
+
+        assertEquals(7, token.getId().version());
+    }
+
+    @Test
+    void testMarkUsedOnlySucceedsOnce() {
+        RefreshToken token = refreshTokenRepository.save(new RefreshToken(
+                "a".repeat(64), UUID.randomUUID(), UUID.randomUUID(), "USER", Instant.now().plusSeconds(60)));
+
+        assertEquals(1, refreshTokenRepository.markUsed(token.getId()));
+        assertEquals(0, refreshTokenRepository.markUsed(token.getId()));
+    }
+
+    @Test
+    void testRevokeFamily() {
+        UUID familyId = UUID.randomUUID();
+        RefreshToken token = refreshTokenRepository.save(new RefreshToken(
+                "b".repeat(64), familyId, UUID.randomUUID(), "USER", Instant.now().plusSeconds(60)));
+
+        refreshTokenRepository.revokeFamily(familyId);
+
+        assertEquals(0, refreshTokenRepository.markUsed(token.getId()));
+    }
+
+    @Test
+    void testDeleteExpiredBefore() {
+        refreshTokenRepository.save(new RefreshToken(
+                "c".repeat(64), UUID.randomUUID(), UUID.randomUUID(), "USER", Instant.now().minusSeconds(60)));
+
+        assertEquals(1, refreshTokenRepository.deleteExpiredBefore(Instant.now()));
+        assertTrue(refreshTokenRepository.findByTokenHash("c".repeat(64)).isEmpty());
+    }
+}
@@ -0,0 +1,37 @@
+package id.ac.ui.cs.advprog.authentication.repository;
+
+import id.ac.ui.cs.advprog.authentication.model.RevokedToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import java.time.Instant;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class RevokedTokenRepositoryTest {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Test
+    void testFindRevokedSinceSkipsExpired() {
+        Instant now = Instant.now();
+        revokedTokenRepository.save(new RevokedToken("live", now.plusSeconds(60), now));
+        revokedTokenRepository.save(new RevokedToken("expired", now.minusSeconds(1), now));
+
+        List<RevokedToken> found = revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(
+                now.minusSeconds(10), now);
+
+        assertEquals(1, found.size());
+        assertEquals("live", found.get(0).getTokenId());
+    }
+
+    @Test
+    void testDeleteExpiredBefore() {
+        Instant now = Instant.now();
+        revokedTokenRepository.save(new RevokedToken("expired", now.minusSeconds(1), now));
+
+        assertEquals(1, revokedTokenRepository.deleteExpiredBefore(now));
+    }
+}
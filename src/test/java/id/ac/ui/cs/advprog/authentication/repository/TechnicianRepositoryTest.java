@@ -1,10 +1,15 @@
 package id.ac.ui.cs.advprog.authentication.repository;
 
 import id.ac.ui.cs.advprog.authentication.model.Technician;
+import id.ac.ui.cs.advprog.authentication.dto.PublicProfileView;
+import id.ac.ui.cs.advprog.authentication.dto.TechnicianProfileView;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
@@ -22,4 +27,53 @@ class TechnicianRepositoryTest {
         assertTrue(found.isPresent());
         assertEquals("Tech Name", found.get().getFullName());
     }
+
+    @Test
+    void testFindProfileByIdProjectsProfileColumns() {
+        Technician tech = technicianRepository.saveAndFlush(
+                new Technician("Tech Name", "view@example.com", "0987654321", "hashedPassword", 5, "Address", 7, 12.5));
+
+        TechnicianProfileView view = technicianRepository.findProfileById(tech.getId()).orElseThrow();
+
+        assertEquals("Tech Name", view.fullName());
+        assertEquals(5, view.experience());
+        assertEquals(7, view.totalJobsCompleted());
+        assertEquals(12.5, view.totalEarnings());
+        assertEquals(0L, view.version());
+    }
+
+    @Test
+    void testUpdateProfileWritesNonNullFieldsAtExpectedVersion() {
+        Technician tech = technicianRepository.saveAndFlush(
+                new Technician("Tech Name", "partial@example.com", "0987654321", "hashedPassword", 5, "Address", 7, 12.5));
+
+        int updated = technicianRepository.updateProfile(tech.getId(), 0L, null, null, null, null, 9);
+
+        TechnicianProfileView view = technicianRepository.findProfileById(tech.getId()).orElseThrow();
+        assertEquals(1, updated);
+        assertEquals("Tech Name", view.fullName());
+        assertEquals(9, view.experience());
+        assertEquals(7, view.totalJobsCompleted());
+        assertEquals(1L, view.version());
+    }
+
+    @Test
+    void testStreamPublicProfilesByIdInReturnsOnlyRequestedTechnicians() {
+        Technician wanted = technicianRepository.saveAndFlush(
+                new Technician("Wanted", "wanted@example.com", "0987654321", "hashedPassword", 5, "Address", 7, 12.5));
+        technicianRepository.saveAndFlush(
+                new Technician("Other", "other@example.com", "0987654321", "hashedPassword", 1, "Address", 0, 0.0));
+
+        List<PublicProfileView> profiles;
+        try (Stream<PublicProfileView> stream =
+                     technicianRepository.streamPublicProfilesByIdIn(List.of(wanted.getId(), UUID.randomUUID()))) {
+            profiles = stream.toList();
+        }
+
+        assertEquals(1, profiles.size());
+        assertEquals(wanted.getId(), profiles.get(0).id());
+        assertEquals("TECHNICIAN", profiles.get(0).role());
+        assertEquals(5, profiles.get(0).experience());
+        assertEquals(7, profiles.get(0).totalJobsCompleted());
+    }
 }
@@ -1,6 +1,7 @@
 package id.ac.ui.cs.advprog.authentication.repository;
 
 import id.ac.ui.cs.advprog.authentication.model.User;
+import id.ac.ui.cs.advprog.authentication.dto.UserProfileView;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -22,4 +23,45 @@ class UserRepositoryTest {
         assertTrue(found.isPresent());
         assertEquals("User Name", found.get().getFullName());
     }
+
+    @Test
+    void testVersionBumpedOnUpdate() {
+        User user = userRepository.saveAndFlush(
+                new User("User Name", "versioned@example.com", "1112223333", "hashedPassword", "Address"));
+        assertEquals(0L, user.getVersion());
+
+        user.setFullName("Renamed");
+        User updated = userRepository.saveAndFlush(user);
+
+        assertEquals(1L, updated.getVersion());
+    }
+
+    @Test
+    void testFindProfileByIdProjectsProfileColumns() {
+        User user = userRepository.saveAndFlush(
+                new User("User Name", "view@example.com", "1112223333", "hashedPassword", "Address"));
+
+        UserProfileView view = userRepository.findProfileById(user.getId()).orElseThrow();
+
+        assertEquals("User Name", view.fullName());
+        assertEquals("default-user.png", view.profilePhoto());
+        assertEquals(0L, view.version());
+    }
+
+    @Test
+    void testUpdateProfileWritesNonNullFieldsAtExpectedVersion() {
+        User user = userRepository.saveAndFlush(
+                new User("User Name", "partial@example.com", "1112223333", "hashedPassword", "Address"));
+
+        int stale = userRepository.updateProfile(user.getId(), 5L, "Ignored", null, null, null);
+        int updated = userRepository.updateProfile(user.getId(), 0L, null, "9998887777", null, null);
+
+        UserProfileView view = userRepository.findProfileById(user.getId()).orElseThrow();
+        assertEquals(0, stale);
+        assertEquals(1, updated);
+        assertEquals("User Name", view.fullName());
+        assertEquals("9998887777", view.phoneNumber());
+        assertEquals("Address", view.address());
+        assertEquals(1L, view.version());
+    }
 }
@@ -0,0 +1,89 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+class DelegatingPasswordHasherTest {
+
+    private static final String PASSWORD = "Secret1!";
+
+    private static DelegatingPasswordHasher hasher(String algorithm, int bcryptCost, int pbkdf2Iterations) {
+        return new DelegatingPasswordHasher(algorithm, bcryptCost, 1024, 1, 1, pbkdf2Iterations, false, 250);
+    }
+
+    @Test
+    void testBcrypt_HashIsPrefixedAndVerifies() {
+        DelegatingPasswordHasher hasher = hasher("bcrypt", 4, 1000);
+
+        String hash = hasher.hash(PASSWORD);
+
+        assertTrue(hash.startsWith("{bcrypt}$2a$04$"));
+        assertTrue(hasher.matches(PASSWORD, hash));
+        assertFalse(hasher.matches("Wrong1!", hash));
+        assertFalse(hasher.needsRehash(hash));
+    }
+
+    @Test
+    void testLegacyUnprefixedBcrypt_VerifiesAndNeedsRehash() {
+        DelegatingPasswordHasher hasher = hasher("bcrypt", 4, 1000);
+        String legacy = BCrypt.hashpw(PASSWORD, BCrypt.gensalt(4));
+
+        assertTrue(hasher.matches(PASSWORD, legacy));
+        assertTrue(hasher.needsRehash(legacy));
+    }
+
+    @Test
+    void testBcrypt_LowerCostNeedsRehash() {
+        String weak = hasher("bcrypt", 4, 1000).hash(PASSWORD);
+        DelegatingPasswordHasher stronger = hasher("bcrypt", 5, 1000);
+
+        assertTrue(stronger.matches(PASSWORD, weak));
+        assertTrue(stronger.needsRehash(weak));
+    }
+
+    @Test
+    void testArgon2_HashVerifiesAndOtherAlgorithmsNeedRehash() {
+        DelegatingPasswordHasher argon2 = hasher("argon2id", 4, 1000);
+        String bcryptHash = hasher("bcrypt", 4, 1000).hash(PASSWORD);
+
+        String hash = argon2.hash(PASSWORD);
+
+        assertTrue(hash.startsWith("{argon2id}$argon2id$"));
+        assertTrue(argon2.matches(PASSWORD, hash));
+        assertFalse(argon2.needsRehash(hash));
+        assertTrue(argon2.matches(PASSWORD, bcryptHash));
+        assertTrue(argon2.needsRehash(bcryptHash));
+    }
+
+    @Test
+    void testPbkdf2_IterationsArePartOfTheId() {
+        String old = hasher("pbkdf2", 4, 1000).hash(PASSWORD);
+        DelegatingPasswordHasher current = hasher("pbkdf2", 4, 2000);
+
+        assertTrue(old.startsWith("{pbkdf2@1000}"));
+        assertTrue(current.matches(PASSWORD, old));
+        assertTrue(current.needsRehash(old));
+        assertFalse(current.needsRehash(current.hash(PASSWORD)));
+    }
+
+    @Test
+    void testUnknownPrefix_DoesNotMatch() {
+        assertFalse(hasher("bcrypt", 4, 1000).matches(PASSWORD, "{md5}abc"));
+    }
+
+    @Test
+    void testUnsupportedAlgorithm_FailsStartup() {
+        assertThrows(IllegalArgumentException.class, () -> hasher("md5", 4, 1000));
+    }
+
+    @Test
+    void testCalibration_NeverGoesBelowConfiguredCost() {
+        DelegatingPasswordHasher hasher = new DelegatingPasswordHasher("bcrypt", 4, 1024, 1, 1, 1000, true, 0);
+
+        assertTrue(hasher.hash(PASSWORD).startsWith("{bcrypt}$2a$04$"));
+    }
+}
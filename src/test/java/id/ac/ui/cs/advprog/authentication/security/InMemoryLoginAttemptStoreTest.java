@@ -0,0 +1,151 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryLoginAttemptStoreTest {
+
+    private MutableClock clock;
+    private InMemoryLoginAttemptStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        store = new InMemoryLoginAttemptStore(Duration.ofMinutes(10), 1000, clock);
+    }
+
+    @Test
+    void testFailuresCountedWithinWindow() {
+        store.tryAcquire("email:a@example.com", Long.MAX_VALUE);
+        store.tryAcquire("email:a@example.com", Long.MAX_VALUE);
+
+        assertEquals(2, store.failures("email:a@example.com"));
+        assertEquals(0, store.failures("email:b@example.com"));
+    }
+
+    @Test
+    void testPreviousWindowDecaysAsItSlidesOut() {
+        for (int i = 0; i < 10; i++) {
+            store.tryAcquire("ip:10.0.0.1", Long.MAX_VALUE);
+        }
+
+        // Halfway into the next window half of the previous window still overlaps.
+        clock.advance(Duration.ofMinutes(15));
+        assertEquals(5, store.failures("ip:10.0.0.1"));
+
+        clock.advance(Duration.ofMinutes(5));
+        assertEquals(0, store.failures("ip:10.0.0.1"));
+    }
+
+    @Test
+    void testResetClearsKey() {
+        store.tryAcquire("email:a@example.com", Long.MAX_VALUE);
+
+        store.reset("email:a@example.com");
+
+        assertEquals(0, store.failures("email:a@example.com"));
+    }
+
+    @Test
+    void testTryAcquireStopsAtLimit() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(store.tryAcquire("email:a@example.com", 3));
+        }
+
+        assertFalse(store.tryAcquire("email:a@example.com", 3));
+        assertEquals(3, store.failures("email:a@example.com"));
+    }
+
+    @Test
+    void testReleaseUncountsAttempt() {
+        store.tryAcquire("email:a@example.com", 3);
+        store.tryAcquire("email:a@example.com", 3);
+
+        store.release("email:a@example.com");
+
+        assertEquals(1, store.failures("email:a@example.com"));
+    }
+
+    @Test
+    void testReleaseAfterRolloverTakesFromPreviousWindow() {
+        for (int i = 0; i < 4; i++) {
+            store.tryAcquire("ip:10.0.0.1", Long.MAX_VALUE);
+        }
+        clock.advance(Duration.ofMinutes(10));
+
+        store.release("ip:10.0.0.1");
+
+        assertEquals(3, store.failures("ip:10.0.0.1"));
+    }
+
+    @Test
+    void testConcurrentTryAcquireNeverExceedsLimit() throws Exception {
+        AtomicInteger acquired = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 800; i++) {
+            pool.execute(() -> {
+                if (store.tryAcquire("email:a@example.com", 5)) {
+                    acquired.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(5, acquired.get());
+    }
+
+    @Test
+    void testConcurrentFailuresAreNotLost() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 800; i++) {
+            pool.execute(() -> store.tryAcquire("ip:10.0.0.1", Long.MAX_VALUE));
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(800, store.failures("ip:10.0.0.1"));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.time.Instant;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +17,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import id.ac.ui.cs.advprog.authentication.service.TokenRevocationService;
+import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,15 +27,17 @@ import jakarta.servlet.http.HttpServletResponse;
 class JwtAuthenticationFilterTest {
 
     private JwtTokenProvider jwtTokenProvider;
+    private TokenRevocationService tokenRevocationService;
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @BeforeEach
     void setUp() {
         jwtTokenProvider = Mockito.mock(JwtTokenProvider.class);
-        when(jwtTokenProvider.validateToken("valid-token")).thenReturn(true);
-        when(jwtTokenProvider.getUserIdFromJWT("valid-token")).thenReturn("test-uuid");
-        when(jwtTokenProvider.getRoleFromJWT("valid-token")).thenReturn("ADMIN");
-        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenProvider);
+        when(jwtTokenProvider.parseToken("valid-token")).thenReturn(
+                new JwtPrincipal("test-uuid", "ADMIN", Instant.now(), Instant.now().plusSeconds(60), "jti-1"));
+        when(jwtTokenProvider.parseToken("invalid-token")).thenThrow(new MalformedJwtException("bad token"));
+        tokenRevocationService = Mockito.mock(TokenRevocationService.class);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenProvider, tokenRevocationService);
     }
 
     @AfterEach
@@ -53,6 +58,36 @@ class JwtAuthenticationFilterTest {
         verify(filterChain, times(1)).doFilter(request, response);
         assertNotNull(SecurityContextHolder.getContext().getAuthentication(), "Authentication should be set in the SecurityContext");
         assertEquals("test-uuid", SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(jwtTokenProvider, times(1)).parseToken("valid-token");
+    }
+
+    @Test
+    void testDoFilterInternal_WithRevokedToken_DoesNotSetAuthentication() throws ServletException, IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        FilterChain filterChain = mock(FilterChain.class);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer valid-token");
+        when(tokenRevocationService.isRevoked("jti-1")).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain, times(1)).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication(), "Revoked token should not authenticate");
+    }
+
+    @Test
+    void testDoFilterInternal_WithInvalidToken_DoesNotSetAuthentication() throws ServletException, IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        FilterChain filterChain = mock(FilterChain.class);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer invalid-token");
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain, times(1)).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication(), "SecurityContext should be empty");
     }
 
     @Test
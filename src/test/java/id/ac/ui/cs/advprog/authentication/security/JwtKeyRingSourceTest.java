@@ -0,0 +1,104 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JwtKeyRingSourceTest {
+
+    private static final String SECRET_A =
+            "qqFQ/tEeaSlcEwUtG+l30VGNjd+z2BfA5Y5QWsiZWHEFhDgB6kw2YODG9f6cIGn44/DtjmZNxUPH97+YDpR/Ng==";
+    private static final String SECRET_B =
+            "+xc5s6RrjH7ZEGWafrgPthLn7e7B87plcDI5qgZKYkCfpuwSRPgLibGTx9vFNj1HSI6sp+aYm5TujleH5HY2tQ==";
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeKeys(String activeKeyId, Instant modified) throws Exception {
+        Path file = tempDir.resolve("jwt-keys.json");
+        Files.writeString(file, """
+                {
+                  "activeKeyId": "%s",
+                  "keys": [
+                    {"kid": "a", "alg": "HS512", "secret": "%s"},
+                    {"kid": "b", "alg": "HS512", "secret": "%s"}
+                  ]
+                }
+                """.formatted(activeKeyId, SECRET_A, SECRET_B));
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+        return file;
+    }
+
+    @Test
+    void testWithoutKeysFile_UsesConfiguredKey() throws Exception {
+        JwtKeyRingSource source = new JwtKeyRingSource("HS512", SECRET_A, "", "", "");
+
+        JwtKeyRing ring = source.getKeyRing();
+
+        assertNull(ring.activeKey().keyId());
+        assertSame(ring.activeKey(), ring.findVerificationKey(null));
+    }
+
+    @Test
+    void testKeysFile_LoadsActiveAndVerifyOnlyKeys() throws Exception {
+        Path file = writeKeys("b", Instant.parse("2026-01-01T00:00:00Z"));
+
+        JwtKeyRing ring = new JwtKeyRingSource("HS512", SECRET_A, "", "", file.toString()).getKeyRing();
+
+        assertEquals("b", ring.activeKey().keyId());
+        assertNotNull(ring.findVerificationKey("a"));
+        assertNotNull(ring.findVerificationKey(null), "Configured secret should verify tokens without kid");
+    }
+
+    @Test
+    void testReloadIfChanged_PicksUpNewActiveKey() throws Exception {
+        Path file = writeKeys("a", Instant.parse("2026-01-01T00:00:00Z"));
+        JwtKeyRingSource source = new JwtKeyRingSource("HS512", SECRET_A, "", "", file.toString());
+
+        writeKeys("b", Instant.parse("2026-01-02T00:00:00Z"));
+        source.reloadIfChanged();
+
+        assertEquals("b", source.getKeyRing().activeKey().keyId());
+    }
+
+    @Test
+    void testReloadIfChanged_UnchangedFileKeepsSameRing() throws Exception {
+        Path file = writeKeys("a", Instant.parse("2026-01-01T00:00:00Z"));
+        JwtKeyRingSource source = new JwtKeyRingSource("HS512", SECRET_A, "", "", file.toString());
+        JwtKeyRing before = source.getKeyRing();
+
+        source.reloadIfChanged();
+
+        assertSame(before, source.getKeyRing());
+    }
+
+    @Test
+    void testReloadIfChanged_InvalidFileKeepsCurrentKeys() throws Exception {
+        Path file = writeKeys("a", Instant.parse("2026-01-01T00:00:00Z"));
+        JwtKeyRingSource source = new JwtKeyRingSource("HS512", SECRET_A, "", "", file.toString());
+        JwtKeyRing before = source.getKeyRing();
+
+        writeKeys("missing", Instant.parse("2026-01-02T00:00:00Z"));
+        source.reloadIfChanged();
+
+        assertSame(before, source.getKeyRing());
+    }
+
+    @Test
+    void testKeysFile_MissingActiveKeyFailsStartup() throws Exception {
+        Path file = writeKeys("missing", Instant.parse("2026-01-01T00:00:00Z"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new JwtKeyRingSource("HS512", SECRET_A, "", "", file.toString()));
+    }
+}
@@ -3,22 +3,41 @@ package id.ac.ui.cs.advprog.authentication.security;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECFieldFp;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.EllipticCurve;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class JwtTokenProviderTest {
 
+    private JwtKeyRingSource keyRingSource;
     private JwtTokenProvider jwtTokenProvider;
     private final String testUserId = "00000000-0000-0000-0000-000000000001";
     private final String testSecret = "qqFQ/tEeaSlcEwUtG+l30VGNjd+z2BfA5Y5QWsiZWHEFhDgB6kw2YODG9f6cIGn44/DtjmZNxUPH97+YDpR/Ng==";
 
     @BeforeEach
     void setUp() {
-        jwtTokenProvider = new JwtTokenProvider();
-        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", testSecret);
+        keyRingSource = new JwtKeyRingSource(JwtKeyRing.of(JwtSigningKey.hmac(testSecret)));
+        jwtTokenProvider = newProvider(keyRingSource);
     }
 
     @Test
@@ -30,6 +49,32 @@ class JwtTokenProviderTest {
         assertEquals(role, jwtTokenProvider.getRoleFromJWT(token), "Parsed role should match");
     }
 
+    @Test
+    void testParseToken_ReturnsAllClaims() {
+        String token = jwtTokenProvider.generateToken(testUserId, "TECHNICIAN");
+
+        JwtPrincipal principal = jwtTokenProvider.parseToken(token);
+
+        assertEquals(testUserId, principal.userId());
+        assertEquals("TECHNICIAN", principal.role());
+        assertNotNull(principal.issuedAt());
+        assertTrue(principal.expiresAt().isAfter(principal.issuedAt()), "Expiry should be after issue time");
+    }
+
+    @Test
+    void testGenerateToken_AssignsUniqueTokenId() {
+        JwtPrincipal first = jwtTokenProvider.parseToken(jwtTokenProvider.generateToken(testUserId, "USER"));
+        JwtPrincipal second = jwtTokenProvider.parseToken(jwtTokenProvider.generateToken(testUserId, "USER"));
+
+        assertNotNull(first.tokenId());
+        assertNotEquals(first.tokenId(), second.tokenId());
+    }
+
+    @Test
+    void testParseToken_Invalid() {
+        assertThrows(JwtException.class, () -> jwtTokenProvider.parseToken("invalid.token.value"));
+    }
+
     @Test
     void testValidateToken_Valid() {
         String token = jwtTokenProvider.generateToken("00000000-0000-0000-0000-000000000002", "USER");
@@ -41,4 +86,161 @@ class JwtTokenProviderTest {
         String invalidToken = "invalid.token.value";
         assertFalse(jwtTokenProvider.validateToken(invalidToken), "Token should be invalid");
     }
+
+    @Test
+    void testReplacedKey_InvalidatesTokensSignedWithOldKey() {
+        String oldToken = jwtTokenProvider.generateToken(testUserId, "USER");
+
+        keyRingSource.setKeyRing(JwtKeyRing.of(JwtSigningKey.hmac(
+                "+xc5s6RrjH7ZEGWafrgPthLn7e7B87plcDI5qgZKYkCfpuwSRPgLibGTx9vFNj1HSI6sp+aYm5TujleH5HY2tQ==")));
+
+        assertFalse(jwtTokenProvider.validateToken(oldToken), "Old token should no longer verify");
+        String newToken = jwtTokenProvider.generateToken(testUserId, "USER");
+        assertEquals(testUserId, jwtTokenProvider.parseToken(newToken).userId());
+    }
+
+    @Test
+    void testHmacKey_PublishesNoJwks() {
+        assertTrue(jwtTokenProvider.getPublicJwks().isEmpty(), "Shared secrets must never be published");
+    }
+
+    @Test
+    void testEs256_SignsWithKidAndVerifies() throws Exception {
+        JwtSigningKey signingKey = generateEs256Key();
+        JwtTokenProvider provider = newProvider(new JwtKeyRingSource(JwtKeyRing.of(signingKey)));
+
+        String token = provider.generateToken(testUserId, "USER");
+
+        assertEquals(testUserId, provider.parseToken(token).userId());
+        assertEquals(signingKey.keyId(), Jwts.parserBuilder().setSigningKey(signingKey.verificationKey()).build()
+                .parseClaimsJws(token).getHeader().getKeyId());
+        assertFalse(jwtTokenProvider.validateToken(token), "HMAC provider must reject ES256 tokens");
+    }
+
+    @Test
+    void testEs256_PublishesPublicJwk() throws Exception {
+        JwtSigningKey signingKey = generateEs256Key();
+        JwtTokenProvider provider = newProvider(new JwtKeyRingSource(JwtKeyRing.of(signingKey)));
+
+        List<Map<String, Object>> jwks = provider.getPublicJwks();
+
+        assertEquals(1, jwks.size());
+        Map<String, Object> jwk = jwks.get(0);
+        assertEquals("EC", jwk.get("kty"));
+        assertEquals("P-256", jwk.get("crv"));
+        assertEquals("ES256", jwk.get("alg"));
+        assertEquals(signingKey.keyId(), jwk.get("kid"));
+        assertFalse(jwk.containsKey("d"), "Private key material must not be published");
+    }
+
+    @Test
+    void testEs256_RejectsOtherCurveOfSameSize() throws Exception {
+        // secp256k1 shares P-256's field size, so only the full curve comparison tells them apart.
+        ECParameterSpec secp256k1 = new ECParameterSpec(
+                new EllipticCurve(
+                        new ECFieldFp(new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F", 16)),
+                        BigInteger.ZERO, BigInteger.valueOf(7)),
+                new ECPoint(new BigInteger("79BE667EF9DCBBAC55A06295CE870B07029BFCDB2DCE28D959F2815B16F81798", 16),
+                        new BigInteger("483ADA7726A3C4655DA4FBFC0E1108A8FD17B448A68554199C47D08FFB10D4B8", 16)),
+                new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141", 16), 1);
+        ECPublicKey p256Key = (ECPublicKey) generateEcKeyPair().getPublic();
+
+        assertEquals(256, secp256k1.getCurve().getField().getFieldSize());
+        assertFalse(JwtSigningKey.isP256(secp256k1));
+        assertTrue(JwtSigningKey.isP256(p256Key.getParams()));
+    }
+
+    @Test
+    void testEs256_RejectsMismatchedKeyPair() throws Exception {
+        KeyPair first = generateEcKeyPair();
+        KeyPair second = generateEcKeyPair();
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> JwtSigningKey.ecdsa(
+                Base64.getEncoder().encodeToString(first.getPrivate().getEncoded()),
+                Base64.getEncoder().encodeToString(second.getPublic().getEncoded())));
+        assertEquals("ES256 private key does not match the public key", ex.getCause().getMessage());
+    }
+
+    @Test
+    void testFromConfig_RejectsUnknownAlgorithm() {
+        assertThrows(IllegalArgumentException.class,
+                () -> JwtSigningKey.fromConfig("none", testSecret, "", ""));
+    }
+
+    @Test
+    void testRotation_OldKeyKeepsVerifyingWhileNewKeySigns() throws Exception {
+        String legacyToken = jwtTokenProvider.generateToken(testUserId, "USER");
+        JwtSigningKey newKey = generateEs256Key();
+
+        keyRingSource.setKeyRing(JwtKeyRing.of(newKey, List.of(), JwtSigningKey.hmac(testSecret)));
+        String rotatedToken = jwtTokenProvider.generateToken(testUserId, "USER");
+
+        assertEquals(testUserId, jwtTokenProvider.parseToken(legacyToken).userId());
+        assertEquals(testUserId, jwtTokenProvider.parseToken(rotatedToken).userId());
+        assertEquals(newKey.keyId(), Jwts.parserBuilder().setSigningKey(newKey.verificationKey()).build()
+                .parseClaimsJws(rotatedToken).getHeader().getKeyId());
+    }
+
+    @Test
+    void testRotation_VerifyOnlyKeyIsSelectedByKid() throws Exception {
+        JwtSigningKey first = JwtSigningKey.hmac("2026-09", testSecret);
+        JwtSigningKey second = generateEs256Key();
+        keyRingSource.setKeyRing(JwtKeyRing.of(first));
+        String firstToken = jwtTokenProvider.generateToken(testUserId, "USER");
+
+        keyRingSource.setKeyRing(JwtKeyRing.of(second, List.of(first), null));
+
+        assertEquals(testUserId, jwtTokenProvider.parseToken(firstToken).userId());
+        assertFalse(jwtTokenProvider.getPublicJwks().isEmpty());
+    }
+
+    @Test
+    void testRotation_RemovedKeyNoLongerVerifies() throws Exception {
+        JwtSigningKey first = JwtSigningKey.hmac("2026-09", testSecret);
+        keyRingSource.setKeyRing(JwtKeyRing.of(first));
+        String firstToken = jwtTokenProvider.generateToken(testUserId, "USER");
+
+        keyRingSource.setKeyRing(JwtKeyRing.of(generateEs256Key()));
+
+        assertThrows(JwtException.class, () -> jwtTokenProvider.parseToken(firstToken));
+    }
+
+    @Test
+    void testRotation_RemovedKeyIsEvictedFromVerifiedTokenCache() throws Exception {
+        JwtSigningKey first = JwtSigningKey.hmac("2026-09", testSecret);
+        JwtKeyRingSource source = new JwtKeyRingSource(JwtKeyRing.of(first));
+        JwtTokenProvider provider = new JwtTokenProvider(
+                source, new VerifiedTokenCache(true, 100, new SimpleMeterRegistry()));
+        String token = provider.generateToken(testUserId, "USER");
+        provider.parseToken(token);
+
+        source.setKeyRing(JwtKeyRing.of(generateEs256Key()));
+
+        assertThrows(JwtException.class, () -> provider.parseToken(token));
+    }
+
+    @Test
+    void testRotation_UnknownKidIsRejected() throws Exception {
+        JwtTokenProvider other = newProvider(new JwtKeyRingSource(JwtKeyRing.of(generateEs256Key())));
+        String foreignToken = other.generateToken(testUserId, "ADMIN");
+
+        assertFalse(jwtTokenProvider.validateToken(foreignToken));
+    }
+
+    private JwtTokenProvider newProvider(JwtKeyRingSource source) {
+        return new JwtTokenProvider(source, new VerifiedTokenCache(false, 0, new SimpleMeterRegistry()));
+    }
+
+    private JwtSigningKey generateEs256Key() throws Exception {
+        KeyPair keyPair = generateEcKeyPair();
+        return JwtSigningKey.ecdsa(
+                Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()),
+                Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+    }
+
+    private static KeyPair generateEcKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
 }
@@ -0,0 +1,116 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LoginThrottleTest {
+
+    private InMemoryLoginAttemptStore store;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryLoginAttemptStore(Duration.ofMinutes(15), 1000, Clock.systemUTC());
+        throttle = new LoginThrottle(store, 3, 5, 900);
+    }
+
+    @Test
+    void testEmailBlockedAfterLimit() {
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("Victim@Example.com", "10.0.0." + i);
+        }
+
+        LoginThrottledException ex = assertThrows(LoginThrottledException.class,
+                () -> throttle.acquire("victim@example.com", "10.0.0.99"));
+        assertEquals(900, ex.getRetryAfterSeconds());
+    }
+
+    @Test
+    void testIpBlockedAcrossEmails() {
+        for (int i = 0; i < 5; i++) {
+            throttle.acquire("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThrows(LoginThrottledException.class,
+                () -> throttle.acquire("fresh@example.com", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.acquire("fresh@example.com", "10.0.0.2"));
+    }
+
+    @Test
+    void testRejectedAttemptIsNotCounted() {
+        for (int i = 0; i < 5; i++) {
+            throttle.acquire("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThrows(LoginThrottledException.class,
+                () -> throttle.acquire("fresh@example.com", "10.0.0.1"));
+
+        assertEquals(0, store.failures("email:fresh@example.com"));
+        assertEquals(5, store.failures("ip:10.0.0.1"));
+    }
+
+    @Test
+    void testSuccessClearsEmailButNotIp() {
+        throttle.acquire("user@example.com", "10.0.0.1");
+        throttle.acquire("user@example.com", "10.0.0.1");
+        throttle.acquire("user@example.com", "10.0.0.1");
+
+        throttle.recordSuccess("user@example.com", "10.0.0.1");
+
+        assertEquals(0, store.failures("email:user@example.com"));
+        assertEquals(2, store.failures("ip:10.0.0.1"));
+    }
+
+    @Test
+    void testReleaseUncountsAttempt() {
+        throttle.acquire("user@example.com", "10.0.0.1");
+
+        throttle.release("user@example.com", "10.0.0.1");
+
+        assertEquals(0, store.failures("email:user@example.com"));
+        assertEquals(0, store.failures("ip:10.0.0.1"));
+    }
+
+    @Test
+    void testConcurrentGuessesStopAtEmailLimit() throws Exception {
+        // Every attempt holds its slot until all have tried, like guesses still hashing.
+        int attempts = 50;
+        CountDownLatch allTried = new CountDownLatch(attempts);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(attempts);
+        for (int i = 0; i < attempts; i++) {
+            String clientIp = "10.0.1." + i;
+            pool.execute(() -> {
+                try {
+                    throttle.acquire("victim@example.com", clientIp);
+                    admitted.incrementAndGet();
+                } catch (LoginThrottledException e) {
+                    // rejected before hashing
+                } finally {
+                    allTried.countDown();
+                }
+                try {
+                    allTried.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        pool.shutdown();
+        assertEquals(true, pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(3, admitted.get());
+    }
+}
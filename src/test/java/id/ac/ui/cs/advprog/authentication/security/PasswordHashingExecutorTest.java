@@ -0,0 +1,107 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(1, 1, 3, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testExecute_ReturnsResultAndRecordsWait() {
+        assertEquals("hashed", executor.execute(() -> "hashed"));
+
+        assertEquals(1, meterRegistry.get("password.hashing.wait").timer().count());
+        assertEquals(1, meterRegistry.get("password.hashing.duration").timer().count());
+    }
+
+    @Test
+    void testExecute_RunsOnPlatformThreadFromVirtualCaller() throws Exception {
+        AtomicReference<Boolean> virtualOnPool = new AtomicReference<>();
+
+        Thread caller = Thread.ofVirtual().start(
+                () -> virtualOnPool.set(executor.execute(() -> Thread.currentThread().isVirtual())));
+        caller.join(5000);
+
+        assertEquals(Boolean.FALSE, virtualOnPool.get());
+    }
+
+    @Test
+    void testExecuteAll_ReturnsResultsInOrderWithoutFillingQueue() {
+        List<Supplier<String>> tasks = IntStream.range(0, 5)
+                .<Supplier<String>>mapToObj(i -> () -> "hash-" + i)
+                .toList();
+
+        List<String> hashes = executor.executeAll(tasks);
+
+        assertEquals(List.of("hash-0", "hash-1", "hash-2", "hash-3", "hash-4"), hashes);
+        assertEquals(0, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    void testExecute_PropagatesTaskException() {
+        assertThrows(IllegalArgumentException.class, () -> executor.execute(() -> {
+            throw new IllegalArgumentException("bad hash");
+        }));
+    }
+
+    @Test
+    void testExecute_RejectsWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> running = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            started.countDown();
+            await(release);
+            return null;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Object> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> null));
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        PasswordHashingOverloadedException ex = assertThrows(PasswordHashingOverloadedException.class,
+                () -> executor.execute(() -> "too many"));
+
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("password.hashing.rejected").counter().count());
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package id.ac.ui.cs.advprog.authentication.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VerifiedTokenCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifications = new AtomicInteger();
+    }
+
+    private Function<String, JwtPrincipal> verifierExpiringIn(long seconds) {
+        return token -> {
+            verifications.incrementAndGet();
+            return new JwtPrincipal("user-" + token, "USER", Instant.now(), Instant.now().plusSeconds(seconds), null);
+        };
+    }
+
+    @Test
+    void testGet_CacheHitSkipsVerification() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, meterRegistry);
+
+        JwtPrincipal first = cache.get("token-a", verifierExpiringIn(60));
+        JwtPrincipal second = cache.get("token-a", verifierExpiringIn(60));
+
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testGet_DifferentTokensAreVerifiedSeparately() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, meterRegistry);
+
+        assertEquals("user-token-a", cache.get("token-a", verifierExpiringIn(60)).userId());
+        assertEquals("user-token-b", cache.get("token-b", verifierExpiringIn(60)).userId());
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void testGet_ExpiredTokenIsVerifiedAgain() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, meterRegistry);
+
+        cache.get("token-a", verifierExpiringIn(0));
+        cache.get("token-a", verifierExpiringIn(0));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void testGet_VerificationFailureIsNotCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, meterRegistry);
+        Function<String, JwtPrincipal> failing = token -> {
+            verifications.incrementAndGet();
+            throw new MalformedJwtException("bad token");
+        };
+
+        assertThrows(MalformedJwtException.class, () -> cache.get("token-a", failing));
+        assertThrows(MalformedJwtException.class, () -> cache.get("token-a", failing));
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void testGet_DisabledCacheAlwaysVerifies() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(false, 100, meterRegistry);
+
+        cache.get("token-a", verifierExpiringIn(60));
+        cache.get("token-a", verifierExpiringIn(60));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void testInvalidateAll_ForcesReverification() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, meterRegistry);
+
+        cache.get("token-a", verifierExpiringIn(60));
+        cache.invalidateAll();
+        cache.get("token-a", verifierExpiringIn(60));
+
+        assertEquals(2, verifications.get());
+    }
+}
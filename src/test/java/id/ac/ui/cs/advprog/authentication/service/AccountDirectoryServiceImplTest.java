@@ -0,0 +1,101 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import id.ac.ui.cs.advprog.authentication.dto.AccountPage;
+import id.ac.ui.cs.advprog.authentication.dto.AccountSummary;
+import id.ac.ui.cs.advprog.authentication.exception.InvalidRequestException;
+import id.ac.ui.cs.advprog.authentication.model.AccountType;
+import id.ac.ui.cs.advprog.authentication.model.User;
+import id.ac.ui.cs.advprog.authentication.repository.UserRepository;
+
+@DataJpaTest
+class AccountDirectoryServiceImplTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AccountDirectoryServiceImpl service;
+
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        service = new AccountDirectoryServiceImpl(jdbcTemplate, 2);
+        users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            users.add(userRepository.saveAndFlush(
+                    new User("User " + i, "user" + i + "@example.com", "111", "hash", "Address")));
+        }
+    }
+
+    @Test
+    void testListAccountsPagesThroughEveryAccountInKeyOrder() {
+        // Arrange
+        List<UUID> expected = users.stream()
+                .sorted(Comparator.comparing(User::getCreatedAt).thenComparing(User::getId))
+                .map(User::getId)
+                .toList();
+
+        // Act
+        AccountPage first = service.listAccounts(AccountType.USER, null, 2);
+        AccountPage second = service.listAccounts(AccountType.USER, first.nextCursor(), 2);
+        AccountPage last = service.listAccounts(AccountType.USER, second.nextCursor(), 2);
+
+        // Assert
+        assertEquals(2, first.items().size());
+        assertEquals(2, second.items().size());
+        assertEquals(1, last.items().size());
+        assertNotNull(second.nextCursor());
+        assertNull(last.nextCursor());
+        List<UUID> listed = new ArrayList<>();
+        for (AccountPage page : List.of(first, second, last)) {
+            page.items().forEach(account -> listed.add(account.id()));
+        }
+        assertEquals(expected.size(), new HashSet<>(listed).size());
+        assertEquals("USER", first.items().get(0).role());
+    }
+
+    @Test
+    void testListAccountsInvalidCursor() {
+        // Act
+        InvalidRequestException e = assertThrows(
+                InvalidRequestException.class,
+                () -> service.listAccounts(AccountType.USER, "not-a-cursor", 2));
+
+        // Assert
+        assertSame(InvalidRequestException.INVALID_CURSOR, e);
+    }
+
+    @Test
+    void testExportAccountsReadsEveryRow() {
+        // Arrange
+        List<AccountSummary> exported = new ArrayList<>();
+
+        // Act
+        service.exportAccounts(AccountType.USER, exported::add);
+
+        // Assert
+        assertEquals(5, exported.size());
+        assertEquals(5, exported.stream().map(AccountSummary::email).distinct().count());
+    }
+}
@@ -0,0 +1,248 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import id.ac.ui.cs.advprog.authentication.dto.ImportReport;
+import id.ac.ui.cs.advprog.authentication.dto.ImportRowResult;
+import id.ac.ui.cs.advprog.authentication.dto.TechnicianRegistrationDto;
+import id.ac.ui.cs.advprog.authentication.dto.UserRegistrationDto;
+import id.ac.ui.cs.advprog.authentication.exception.InvalidRequestException;
+import id.ac.ui.cs.advprog.authentication.model.Credential;
+import id.ac.ui.cs.advprog.authentication.model.Technician;
+import id.ac.ui.cs.advprog.authentication.model.User;
+import id.ac.ui.cs.advprog.authentication.repository.CredentialRepository;
+import id.ac.ui.cs.advprog.authentication.repository.TechnicianRepository;
+import id.ac.ui.cs.advprog.authentication.repository.UserRepository;
+import id.ac.ui.cs.advprog.authentication.security.PasswordHasher;
+import id.ac.ui.cs.advprog.authentication.security.PasswordHashingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+@DataJpaTest
+class AccountImportServiceImplTest {
+
+    private static final String PASSWORD = "Str0ng!Pass";
+
+    @Autowired
+    private CredentialRepository credentialRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TechnicianRepository technicianRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PasswordHashingExecutor passwordHashingExecutor;
+    private RegisteredEmailFilter registeredEmailFilter;
+    private AccountImportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        passwordHashingExecutor = new PasswordHashingExecutor(2, 10, 1, new SimpleMeterRegistry());
+        registeredEmailFilter = mock(RegisteredEmailFilter.class);
+        PasswordHasher hasher = mock(PasswordHasher.class, invocation ->
+                invocation.getMethod().getName().equals("hash") ? "{noop}" + invocation.getArgument(0) : null);
+        service = new AccountImportServiceImpl(credentialRepository, jdbcTemplate, hasher, passwordHashingExecutor,
+                registeredEmailFilter, Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionManager, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingExecutor.shutdown();
+    }
+
+    @Test
+    void testImportUsersReportsEveryRow() {
+        // Arrange
+        credentialRepository.saveAndFlush(new Credential(
+                UUID.randomUUID(), "taken@example.com", "USER", "$2a$10$abcdefghijklmnopqrstuv"));
+        List<UserRegistrationDto> records = List.of(
+                user("one@example.com", PASSWORD),
+                user("not-an-email", PASSWORD),
+                user("taken@example.com", PASSWORD),
+                user("one@example.com", PASSWORD),
+                user("weak@example.com", "weakpass"),
+                user("two@example.com", PASSWORD));
+
+        // Act
+        ImportReport report = service.importUsers(records.iterator());
+
+        // Assert
+        assertEquals(2, report.created());
+        assertEquals(4, report.failed());
+        List<ImportRowResult> rows = report.rows();
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), rows.stream().map(ImportRowResult::row).toList());
+        assertTrue(rows.get(0).created());
+        assertEquals("email: Must be a well-formed email address", rows.get(1).error());
+        assertEquals("Email is already in use", rows.get(2).error());
+        assertEquals(AccountImportServiceImpl.DUPLICATE_IN_IMPORT, rows.get(3).error());
+        assertFalse(rows.get(4).created());
+        assertTrue(rows.get(5).created());
+
+        User imported = userRepository.findById(rows.get(0).id()).orElseThrow();
+        assertEquals("Imported", imported.getFullName());
+        assertEquals(0L, imported.getVersion());
+        Credential credential = credentialRepository.findByEmail("two@example.com").orElseThrow();
+        assertEquals(rows.get(5).id(), credential.getAccountId());
+        assertEquals("{noop}" + PASSWORD, credential.getPasswordHash());
+        verify(registeredEmailFilter).add("one@example.com");
+        verify(registeredEmailFilter, never()).add("taken@example.com");
+    }
+
+    @Test
+    void testImportComparesEmailsIgnoringCase() {
+        // Arrange
+        credentialRepository.saveAndFlush(new Credential(
+                UUID.randomUUID(), "taken@example.com", "USER", "$2a$10$abcdefghijklmnopqrstuv"));
+        List<UserRegistrationDto> records = List.of(
+                user("New@Example.com", PASSWORD),
+                user("new@example.COM", PASSWORD),
+                user("Taken@Example.com", PASSWORD));
+
+        // Act
+        ImportReport report = service.importUsers(records.iterator());
+
+        // Assert
+        assertEquals(1, report.created());
+        assertEquals("new@example.com", report.rows().get(0).email());
+        assertEquals(AccountImportServiceImpl.DUPLICATE_IN_IMPORT, report.rows().get(1).error());
+        assertEquals("Email is already in use", report.rows().get(2).error());
+        User imported = userRepository.findById(report.rows().get(0).id()).orElseThrow();
+        assertEquals("new@example.com", imported.getEmail());
+    }
+
+    @Test
+    void testImportTechniciansWritesTechnicianRows() {
+        // Arrange
+        TechnicianRegistrationDto dto = new TechnicianRegistrationDto();
+        dto.setFullName("Tech");
+        dto.setEmail("tech@example.com");
+        dto.setPhoneNumber("08123456789");
+        dto.setPassword(PASSWORD);
+        dto.setExperience(4);
+        dto.setAddress("Workshop");
+
+        // Act
+        ImportReport report = service.importTechnicians(List.of(dto).iterator());
+
+        // Assert
+        assertEquals(1, report.created());
+        Technician technician = technicianRepository.findById(report.rows().get(0).id()).orElseThrow();
+        assertEquals(4, technician.getExperience());
+        assertEquals("default-technician.png", technician.getProfilePhoto());
+        assertEquals("TECHNICIAN", credentialRepository.findByEmail("tech@example.com").orElseThrow().getRole());
+    }
+
+    @Test
+    void testImportRejectsOverlongFieldsInValidation() {
+        // Arrange
+        UserRegistrationDto dto = user("long@example.com", PASSWORD);
+        dto.setFullName("x".repeat(256));
+
+        // Act
+        ImportReport report = service.importUsers(List.of(dto).iterator());
+
+        // Assert
+        assertEquals(0, report.created());
+        assertEquals("fullName: Full name must be at most 255 characters", report.rows().get(0).error());
+    }
+
+    /** Outside the test transaction, so the failed batch is really rolled back before the retry. */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testImportReportsOtherDatabaseFailuresAsTheirOwnError() {
+        // Arrange
+        Validator acceptAll = mock(Validator.class);
+        when(acceptAll.validate(any())).thenReturn(Set.of());
+        AccountImportServiceImpl unvalidated = new AccountImportServiceImpl(credentialRepository, jdbcTemplate,
+                mock(PasswordHasher.class, invocation -> "{noop}"), passwordHashingExecutor,
+                registeredEmailFilter, acceptAll, transactionManager, 2);
+        UserRegistrationDto tooLong = user("long@example.com", PASSWORD);
+        tooLong.setFullName("x".repeat(300));
+
+        // Act
+        ImportReport report = unvalidated.importUsers(List.of(user("ok@example.com", PASSWORD), tooLong).iterator());
+
+        // Assert
+        try {
+            assertTrue(report.rows().get(0).created());
+            assertEquals(InvalidRequestException.RECORD_REJECTED.getMessage(), report.rows().get(1).error());
+        } finally {
+            jdbcTemplate.update("DELETE FROM credentials WHERE email = 'ok@example.com'");
+            jdbcTemplate.update("DELETE FROM users WHERE email = 'ok@example.com'");
+        }
+    }
+
+    @Test
+    void testImportStopsAtMalformedRecord() {
+        // Arrange
+        Iterator<UserRegistrationDto> records = new Iterator<>() {
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public UserRegistrationDto next() {
+                if (read++ == 0) {
+                    return user("first@example.com", PASSWORD);
+                }
+                throw new NoSuchElementException("unexpected token");
+            }
+        };
+
+        // Act
+        ImportReport report = service.importUsers(records);
+
+        // Assert
+        assertEquals(1, report.created());
+        assertEquals(1, report.failed());
+        assertEquals(2, report.rows().get(1).row());
+        assertNull(report.rows().get(1).email());
+        assertEquals(AccountImportServiceImpl.MALFORMED_RECORD, report.rows().get(1).error());
+    }
+
+    private static UserRegistrationDto user(String email, String password) {
+        UserRegistrationDto dto = new UserRegistrationDto();
+        dto.setFullName("Imported");
+        dto.setEmail(email);
+        dto.setPhoneNumber("08123456789");
+        dto.setPassword(password);
+        dto.setAddress("Address");
+        return dto;
+    }
+}
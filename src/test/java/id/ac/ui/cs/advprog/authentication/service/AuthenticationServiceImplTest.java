@@ -1,38 +1,63 @@
 package id.ac.ui.cs.advprog.authentication.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import id.ac.ui.cs.advprog.authentication.dto.AuthRequest;
 import id.ac.ui.cs.advprog.authentication.dto.AuthResponse;
 import id.ac.ui.cs.advprog.authentication.dto.TechnicianRegistrationDto;
 import id.ac.ui.cs.advprog.authentication.dto.UserRegistrationDto;
+import id.ac.ui.cs.advprog.authentication.exception.AccountNotFoundException;
+import id.ac.ui.cs.advprog.authentication.exception.InvalidCredentialsException;
+import id.ac.ui.cs.advprog.authentication.exception.InvalidRequestException;
 import id.ac.ui.cs.advprog.authentication.model.Admin;
+import id.ac.ui.cs.advprog.authentication.model.Credential;
 import id.ac.ui.cs.advprog.authentication.model.Technician;
-import id.ac.ui.cs.advprog.authentication.model.User;
 import id.ac.ui.cs.advprog.authentication.repository.AdminRepository;
+import id.ac.ui.cs.advprog.authentication.repository.CredentialRepository;
 import id.ac.ui.cs.advprog.authentication.repository.TechnicianRepository;
 import id.ac.ui.cs.advprog.authentication.repository.UserRepository;
+import id.ac.ui.cs.advprog.authentication.security.JwtPrincipal;
 import id.ac.ui.cs.advprog.authentication.security.JwtTokenProvider;
+import id.ac.ui.cs.advprog.authentication.security.LoginThrottle;
+import id.ac.ui.cs.advprog.authentication.security.LoginThrottledException;
+import id.ac.ui.cs.advprog.authentication.security.DelegatingPasswordHasher;
+import id.ac.ui.cs.advprog.authentication.security.PasswordHasher;
+import id.ac.ui.cs.advprog.authentication.security.PasswordHashingExecutor;
+import id.ac.ui.cs.advprog.authentication.security.PasswordHashingOverloadedException;
 
 @ExtendWith(MockitoExtension.class)
 class AuthenticationServiceImplTest {
 
+    private static final String CLIENT_IP = "10.0.0.1";
+
     @Mock
     private AdminRepository adminRepository;
 
@@ -42,9 +67,37 @@ class AuthenticationServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CredentialRepository credentialRepository;
+
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Spy
+    private PasswordHasher passwordHasher =
+            new DelegatingPasswordHasher("bcrypt", 4, 19456, 2, 1, 600000, false, 250);
+
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Mock
+    private ProfileCache profileCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private AuthenticationServiceImpl service;
 
@@ -53,7 +106,10 @@ class AuthenticationServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        hashedPassword = BCrypt.hashpw(rawPassword, BCrypt.gensalt());
+        hashedPassword = passwordHasher.hash(rawPassword);
+        lenient().when(passwordHashingExecutor.execute(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        lenient().when(registeredEmailFilter.mightBeRegistered(any())).thenReturn(true);
     }
 
     @Test
@@ -65,39 +121,172 @@ class AuthenticationServiceImplTest {
         admin.setEmail(email);
         admin.setPassword(hashedPassword);
 
-        when(adminRepository.findByEmail(email)).thenReturn(Optional.of(admin));
-        when(technicianRepository.findByEmail(email)).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(credentialRepository.findByEmail(email))
+                .thenReturn(Optional.of(new Credential(admin.getId(), email, "ADMIN", admin.getPassword())));
         when(jwtTokenProvider.generateToken(admin.getId().toString(), "ADMIN"))
                 .thenReturn("admintoken");
+        when(refreshTokenService.issue(admin.getId(), "ADMIN")).thenReturn("adminrefresh");
 
         AuthRequest request = new AuthRequest();
         request.setEmail(email);
         request.setPassword(rawPassword);
 
         // Act
-        AuthResponse resp = service.login(request);
+        AuthResponse resp = service.login(request, CLIENT_IP);
 
         // Assert
         assertEquals("admintoken", resp.getToken());
+        assertEquals("adminrefresh", resp.getRefreshToken());
         verify(jwtTokenProvider).generateToken(admin.getId().toString(), "ADMIN");
+        verify(loginThrottle).recordSuccess(email, CLIENT_IP);
+    }
+
+    @Test
+    void loginRehashesLegacyHash() throws Exception {
+        // Arrange
+        String email = "legacy@example.com";
+        UUID id = UUID.randomUUID();
+        String legacyHash = BCrypt.hashpw(rawPassword, BCrypt.gensalt(4));
+        Credential credential = new Credential(id, email, "USER", legacyHash);
+
+        when(credentialRepository.findByEmail(email)).thenReturn(Optional.of(credential));
+        when(jwtTokenProvider.generateToken(id.toString(), "USER")).thenReturn("token");
+
+        AuthRequest request = new AuthRequest();
+        request.setEmail(email);
+        request.setPassword(rawPassword);
+
+        // Act
+        service.login(request, CLIENT_IP);
+
+        // Assert
+        verify(credentialRepository).saveAndFlush(credential);
+        verify(userRepository).updatePassword(id, credential.getPasswordHash());
+        assertTrue(credential.getPasswordHash().startsWith("{bcrypt}"));
+        assertTrue(passwordHasher.matches(rawPassword, credential.getPasswordHash()));
+    }
+
+    @Test
+    void loginSucceedsWhenHashingPoolIsFullForRehash() throws Exception {
+        // Arrange
+        String email = "legacy@example.com";
+        UUID id = UUID.randomUUID();
+        String legacyHash = BCrypt.hashpw(rawPassword, BCrypt.gensalt(4));
+        Credential credential = new Credential(id, email, "USER", legacyHash);
+
+        when(credentialRepository.findByEmail(email)).thenReturn(Optional.of(credential));
+        when(jwtTokenProvider.generateToken(id.toString(), "USER")).thenReturn("token");
+        doAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get())
+                .doThrow(new PasswordHashingOverloadedException(1))
+                .when(passwordHashingExecutor).execute(any());
+
+        AuthRequest request = new AuthRequest();
+        request.setEmail(email);
+        request.setPassword(rawPassword);
+
+        // Act
+        AuthResponse response = service.login(request, CLIENT_IP);
+
+        // Assert
+        assertEquals("token", response.getToken());
+        verify(credentialRepository, never()).saveAndFlush(any());
+        assertEquals(legacyHash, credential.getPasswordHash());
+    }
+
+    @Test
+    void loginKeepsCurrentHash() throws Exception {
+        // Arrange
+        String email = "current@example.com";
+        UUID id = UUID.randomUUID();
+        Credential credential = new Credential(id, email, "USER", hashedPassword);
+
+        when(credentialRepository.findByEmail(email)).thenReturn(Optional.of(credential));
+        when(jwtTokenProvider.generateToken(id.toString(), "USER")).thenReturn("token");
+
+        AuthRequest request = new AuthRequest();
+        request.setEmail(email);
+        request.setPassword(rawPassword);
+
+        // Act
+        service.login(request, CLIENT_IP);
+
+        // Assert
+        verify(credentialRepository, never()).saveAndFlush(any());
+        assertEquals(hashedPassword, credential.getPasswordHash());
+    }
+
+    @Test
+    void refreshIssuesNewAccessAndRefreshToken() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        when(refreshTokenService.rotate("oldrefresh"))
+                .thenReturn(new RefreshTokenService.Rotation("newrefresh", accountId, "USER"));
+        when(jwtTokenProvider.generateToken(accountId.toString(), "USER")).thenReturn("newtoken");
+
+        // Act
+        AuthResponse resp = service.refresh("oldrefresh");
+
+        // Assert
+        assertEquals("newtoken", resp.getToken());
+        assertEquals("newrefresh", resp.getRefreshToken());
+    }
+
+    @Test
+    void loginLooksUpNormalizedEmail() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(credentialRepository.findByEmail("mixed@example.com"))
+                .thenReturn(Optional.of(new Credential(id, "mixed@example.com", "USER", hashedPassword)));
+        when(jwtTokenProvider.generateToken(id.toString(), "USER")).thenReturn("token");
+
+        AuthRequest request = new AuthRequest();
+        request.setEmail(" Mixed@Example.COM");
+        request.setPassword(rawPassword);
+
+        // Act
+        AuthResponse resp = service.login(request, CLIENT_IP);
+
+        // Assert
+        assertEquals("token", resp.getToken());
+        verify(registeredEmailFilter).mightBeRegistered("mixed@example.com");
+        verify(loginThrottle).recordSuccess("mixed@example.com", CLIENT_IP);
     }
 
     @Test
     void loginFailsWhenNoAccount() {
         // Arrange
         String email = "nouser@example.com";
-        when(adminRepository.findByEmail(email)).thenReturn(Optional.empty());
-        when(technicianRepository.findByEmail(email)).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(credentialRepository.findByEmail(email)).thenReturn(Optional.empty());
 
         AuthRequest request = new AuthRequest();
         request.setEmail(email);
         request.setPassword(rawPassword);
 
         // Act & Assert
-        Exception ex = assertThrows(Exception.class, () -> service.login(request));
-        assertTrue(ex.getMessage().contains("No account found"));
+        assertSame(InvalidCredentialsException.INVALID_LOGIN,
+                assertThrows(InvalidCredentialsException.class, () -> service.login(request, CLIENT_IP)));
+        verify(loginThrottle).acquire(email, CLIENT_IP);
+        verify(loginThrottle, never()).release(any(), any());
+        verify(registeredEmailFilter).recordFalsePositive();
+    }
+
+    @Test
+    void loginUnknownEmailRejectedByFilterStillHashes() {
+        // Arrange
+        String email = "ghost@example.com";
+        when(registeredEmailFilter.mightBeRegistered(email)).thenReturn(false);
+
+        AuthRequest request = new AuthRequest();
+        request.setEmail(email);
+        request.setPassword(rawPassword);
+
+        // Act & Assert
+        assertSame(InvalidCredentialsException.INVALID_LOGIN,
+                assertThrows(InvalidCredentialsException.class, () -> service.login(request, CLIENT_IP)));
+        verify(credentialRepository, never()).findByEmail(any());
+        verify(passwordHasher).matches(eq(rawPassword), any());
+        verify(loginThrottle).acquire(email, CLIENT_IP);
+        verify(loginThrottle, never()).release(any(), any());
     }
 
     @Test
@@ -109,17 +298,68 @@ class AuthenticationServiceImplTest {
         tech.setEmail(email);
         tech.setPassword(hashedPassword);
 
-        when(adminRepository.findByEmail(email)).thenReturn(Optional.empty());
-        when(technicianRepository.findByEmail(email)).thenReturn(Optional.of(tech));
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(credentialRepository.findByEmail(email))
+                .thenReturn(Optional.of(new Credential(tech.getId(), email, "TECHNICIAN", tech.getPassword())));
 
         AuthRequest request = new AuthRequest();
         request.setEmail(email);
         request.setPassword("WrongPass1!");
 
         // Act & Assert
-        Exception ex = assertThrows(Exception.class, () -> service.login(request));
-        assertTrue(ex.getMessage().contains("Invalid password"));
+        assertSame(InvalidCredentialsException.INVALID_LOGIN,
+                assertThrows(InvalidCredentialsException.class, () -> service.login(request, CLIENT_IP)));
+        verify(loginThrottle).acquire(email, CLIENT_IP);
+        verify(loginThrottle, never()).recordSuccess(any(), any());
+        verify(loginThrottle, never()).release(any(), any());
+    }
+
+    @Test
+    void loginReleasesAttemptWhenHashingPoolIsFull() {
+        // Arrange
+        String email = "busy@example.com";
+        UUID id = UUID.randomUUID();
+        when(credentialRepository.findByEmail(email))
+                .thenReturn(Optional.of(new Credential(id, email, "USER", hashedPassword)));
+        doThrow(new PasswordHashingOverloadedException(1)).when(passwordHashingExecutor).execute(any());
+
+        AuthRequest request = new AuthRequest();
+        request.setEmail(email);
+        request.setPassword(rawPassword);
+
+        // Act & Assert
+        assertThrows(PasswordHashingOverloadedException.class, () -> service.login(request, CLIENT_IP));
+        verify(loginThrottle).release(email, CLIENT_IP);
+    }
+
+    @Test
+    void loginThrottledBeforeLookupOrHashing() {
+        // Arrange
+        String email = "victim@example.com";
+        doThrow(new LoginThrottledException(900)).when(loginThrottle).acquire(email, CLIENT_IP);
+
+        AuthRequest request = new AuthRequest();
+        request.setEmail(email);
+        request.setPassword(rawPassword);
+
+        // Act & Assert
+        assertThrows(LoginThrottledException.class, () -> service.login(request, CLIENT_IP));
+        verify(credentialRepository, never()).findByEmail(any());
+        verify(passwordHashingExecutor, never()).execute(any());
+    }
+
+    @Test
+    void logoutRevokesAccessTokenAndRefreshFamily() {
+        // Arrange
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(jwtTokenProvider.parseToken("accesstoken"))
+                .thenReturn(new JwtPrincipal("user-1", "USER", Instant.now(), expiresAt, "jti-1"));
+
+        // Act
+        service.logout("accesstoken", "refreshtoken");
+
+        // Assert
+        verify(tokenRevocationService).revoke("jti-1", expiresAt);
+        verify(refreshTokenService).revoke("refreshtoken");
     }
 
     @Test
@@ -132,7 +372,7 @@ class AuthenticationServiceImplTest {
         dto.setPhoneNumber("123456789");
         dto.setAddress("123 Main St");
 
-        when(userRepository.findByEmail(dto.getEmail())).thenReturn(Optional.empty());
+        when(credentialRepository.existsByEmail(dto.getEmail())).thenReturn(false);
 
         // Act
         service.registerUser(dto);
@@ -141,8 +381,36 @@ class AuthenticationServiceImplTest {
         verify(userRepository).save(argThat(u ->
                 u.getEmail().equals(dto.getEmail()) &&
                         u.getFullName().equals(dto.getFullName()) &&
-                        BCrypt.checkpw(dto.getPassword(), u.getPassword())
+                        passwordHasher.matches(dto.getPassword(), u.getPassword())
         ));
+        verify(credentialRepository).saveAndFlush(argThat(c ->
+                c.getEmail().equals(dto.getEmail()) &&
+                        c.getRole().equals("USER") &&
+                        c.getHashCost() == 4 &&
+                        passwordHasher.matches(dto.getPassword(), c.getPasswordHash())
+        ));
+        verify(registeredEmailFilter).add(dto.getEmail());
+    }
+
+    @Test
+    void registerUserStoresNormalizedEmail() {
+        // Arrange
+        UserRegistrationDto dto = new UserRegistrationDto();
+        dto.setEmail("New.User@Example.com");
+        dto.setPassword("Valid1!A");
+        dto.setFullName("New User");
+        dto.setPhoneNumber("123456789");
+        dto.setAddress("123 Main St");
+
+        when(credentialRepository.existsByEmail("new.user@example.com")).thenReturn(false);
+
+        // Act
+        service.registerUser(dto);
+
+        // Assert
+        verify(userRepository).save(argThat(u -> u.getEmail().equals("new.user@example.com")));
+        verify(credentialRepository).saveAndFlush(argThat(c -> c.getEmail().equals("new.user@example.com")));
+        verify(registeredEmailFilter).add("new.user@example.com");
     }
 
     @Test
@@ -152,12 +420,31 @@ class AuthenticationServiceImplTest {
         dto.setEmail("dup@example.com");
         dto.setPassword("Valid1!");
 
-        when(userRepository.findByEmail(dto.getEmail()))
-                .thenReturn(Optional.of(new User()));
+        when(credentialRepository.existsByEmail(dto.getEmail())).thenReturn(true);
 
         // Act & Assert
-        IllegalArgumentException ex = assertThrows(
-                IllegalArgumentException.class,
+        InvalidRequestException ex = assertThrows(
+                InvalidRequestException.class,
+                () -> service.registerUser(dto)
+        );
+        assertTrue(ex.getMessage().contains("Email is already in use"));
+    }
+
+    @Test
+    void registerUserFailsWhenEmailTakenConcurrently() {
+        // Arrange
+        UserRegistrationDto dto = new UserRegistrationDto();
+        dto.setEmail("race@example.com");
+        dto.setPassword("Valid1!A");
+        dto.setFullName("Racer");
+
+        when(credentialRepository.existsByEmail(dto.getEmail())).thenReturn(false);
+        when(credentialRepository.saveAndFlush(any(Credential.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate email"));
+
+        // Act & Assert
+        InvalidRequestException ex = assertThrows(
+                InvalidRequestException.class,
                 () -> service.registerUser(dto)
         );
         assertTrue(ex.getMessage().contains("Email is already in use"));
@@ -170,11 +457,11 @@ class AuthenticationServiceImplTest {
         dto.setEmail("user@example.com");
         dto.setPassword("weak");
 
-        when(userRepository.findByEmail(dto.getEmail())).thenReturn(Optional.empty());
+        when(credentialRepository.existsByEmail(dto.getEmail())).thenReturn(false);
 
         // Act & Assert
-        IllegalArgumentException ex = assertThrows(
-                IllegalArgumentException.class,
+        InvalidRequestException ex = assertThrows(
+                InvalidRequestException.class,
                 () -> service.registerUser(dto)
         );
         assertTrue(ex.getMessage().contains("Password must be"));
@@ -191,7 +478,7 @@ class AuthenticationServiceImplTest {
         dto.setAddress("456 Tech Rd");
         dto.setExperience(5);
 
-        when(technicianRepository.findByEmail(dto.getEmail())).thenReturn(Optional.empty());
+        when(credentialRepository.existsByEmail(dto.getEmail())).thenReturn(false);
 
         // Act
         service.registerTechnician(dto);
@@ -201,8 +488,9 @@ class AuthenticationServiceImplTest {
                 t.getEmail().equals(dto.getEmail()) &&
                         t.getFullName().equals(dto.getFullName()) &&
                         t.getExperience().equals(dto.getExperience()) &&
-                        BCrypt.checkpw(dto.getPassword(), t.getPassword())
+                        passwordHasher.matches(dto.getPassword(), t.getPassword())
         ));
+        verify(credentialRepository).saveAndFlush(argThat(c -> c.getRole().equals("TECHNICIAN")));
     }
 
     @Test
@@ -212,12 +500,11 @@ class AuthenticationServiceImplTest {
         dto.setEmail("duptech@example.com");
         dto.setPassword("Valid1!");
 
-        when(technicianRepository.findByEmail(dto.getEmail()))
-                .thenReturn(Optional.of(new Technician()));
+        when(credentialRepository.existsByEmail(dto.getEmail())).thenReturn(true);
 
         // Act & Assert
-        IllegalArgumentException ex = assertThrows(
-                IllegalArgumentException.class,
+        InvalidRequestException ex = assertThrows(
+                InvalidRequestException.class,
                 () -> service.registerTechnician(dto)
         );
         assertTrue(ex.getMessage().contains("Email is already in use"));
@@ -230,11 +517,11 @@ class AuthenticationServiceImplTest {
         dto.setEmail("tech2@example.com");
         dto.setPassword("weak");
 
-        when(technicianRepository.findByEmail(dto.getEmail())).thenReturn(Optional.empty());
+        when(credentialRepository.existsByEmail(dto.getEmail())).thenReturn(false);
 
         // Act & Assert
-        IllegalArgumentException ex = assertThrows(
-                IllegalArgumentException.class,
+        InvalidRequestException ex = assertThrows(
+                InvalidRequestException.class,
                 () -> service.registerTechnician(dto)
         );
         assertTrue(ex.getMessage().contains("Password must be"));
@@ -243,39 +530,51 @@ class AuthenticationServiceImplTest {
     @Test
     void changePasswordSucceedsForUser() {
         // Arrange
-        String userId = UUID.randomUUID().toString();
-        User user = new User();
-        user.setId(UUID.fromString(userId));
-        user.setPassword(hashedPassword);
+        UUID id = UUID.randomUUID();
+        Credential credential = new Credential(id, "user@example.com", "USER", hashedPassword);
 
-        when(adminRepository.findById(user.getId())).thenReturn(Optional.empty());
-        when(technicianRepository.findById(user.getId())).thenReturn(Optional.empty());
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(credentialRepository.findById(id)).thenReturn(Optional.of(credential));
 
         String newPwd = "NewPass1!";
 
         // Act
-        service.changePassword(userId, rawPassword, newPwd);
+        service.changePassword(id.toString(), rawPassword, newPwd);
+
+        // Assert
+        verify(credentialRepository).saveAndFlush(credential);
+        verify(userRepository).updatePassword(id, credential.getPasswordHash());
+        verify(refreshTokenService).revokeAllForAccount(id);
+        verify(profileCache).invalidate("USER", id);
+        assertTrue(passwordHasher.matches(newPwd, credential.getPasswordHash()));
+    }
+
+    @Test
+    void changePasswordUpdatesLegacyColumnOfOwningTable() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        Credential credential = new Credential(id, "tech@example.com", "TECHNICIAN", hashedPassword);
+
+        when(credentialRepository.findById(id)).thenReturn(Optional.of(credential));
+
+        // Act
+        service.changePassword(id.toString(), rawPassword, "NewPass1!");
 
         // Assert
-        verify(userRepository).save(user);
-        assertTrue(BCrypt.checkpw(newPwd, user.getPassword()));
+        verify(technicianRepository).updatePassword(id, credential.getPasswordHash());
+        verify(userRepository, never()).updatePassword(any(), any());
     }
 
     @Test
     void changePasswordFailsWhenUserNotFound() {
         // Arrange
-        String userId = UUID.randomUUID().toString();
-        UUID id = UUID.fromString(userId);
+        UUID id = UUID.randomUUID();
 
-        when(adminRepository.findById(id)).thenReturn(Optional.empty());
-        when(technicianRepository.findById(id)).thenReturn(Optional.empty());
-        when(userRepository.findById(id)).thenReturn(Optional.empty());
+        when(credentialRepository.findById(id)).thenReturn(Optional.empty());
 
         // Act & Assert
-        IllegalArgumentException ex = assertThrows(
-                IllegalArgumentException.class,
-                () -> service.changePassword(userId, rawPassword, "Another1!")
+        AccountNotFoundException ex = assertThrows(
+                AccountNotFoundException.class,
+                () -> service.changePassword(id.toString(), rawPassword, "Another1!")
         );
         assertTrue(ex.getMessage().contains("User not found"));
     }
@@ -283,19 +582,15 @@ class AuthenticationServiceImplTest {
     @Test
     void changePasswordFailsOnWrongOldPassword() {
         // Arrange
-        String userId = UUID.randomUUID().toString();
-        User user = new User();
-        user.setId(UUID.fromString(userId));
-        user.setPassword(hashedPassword);
+        UUID id = UUID.randomUUID();
+        Credential credential = new Credential(id, "user@example.com", "USER", hashedPassword);
 
-        when(adminRepository.findById(user.getId())).thenReturn(Optional.empty());
-        when(technicianRepository.findById(user.getId())).thenReturn(Optional.empty());
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(credentialRepository.findById(id)).thenReturn(Optional.of(credential));
 
         // Act & Assert
-        IllegalArgumentException ex = assertThrows(
-                IllegalArgumentException.class,
-                () -> service.changePassword(userId, "WrongOld1!", "Another1!")
+        InvalidCredentialsException ex = assertThrows(
+                InvalidCredentialsException.class,
+                () -> service.changePassword(id.toString(), "WrongOld1!", "Another1!")
         );
         assertTrue(ex.getMessage().contains("Old password is incorrect"));
     }
@@ -303,19 +598,15 @@ class AuthenticationServiceImplTest {
     @Test
     void changePasswordFailsOnWeakNewPassword() {
         // Arrange
-        String userId = UUID.randomUUID().toString();
-        User user = new User();
-        user.setId(UUID.fromString(userId));
-        user.setPassword(hashedPassword);
+        UUID id = UUID.randomUUID();
+        Credential credential = new Credential(id, "user@example.com", "USER", hashedPassword);
 
-        when(adminRepository.findById(user.getId())).thenReturn(Optional.empty());
-        when(technicianRepository.findById(user.getId())).thenReturn(Optional.empty());
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(credentialRepository.findById(id)).thenReturn(Optional.of(credential));
 
         // Act & Assert
-        IllegalArgumentException ex = assertThrows(
-                IllegalArgumentException.class,
-                () -> service.changePassword(userId, rawPassword, "weak")
+        InvalidRequestException ex = assertThrows(
+                InvalidRequestException.class,
+                () -> service.changePassword(id.toString(), rawPassword, "weak")
         );
         assertTrue(ex.getMessage().contains("Password must be"));
     }
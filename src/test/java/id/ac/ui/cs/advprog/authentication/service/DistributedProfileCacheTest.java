@@ -0,0 +1,56 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import id.ac.ui.cs.advprog.authentication.dto.ProfileResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DistributedProfileCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DistributedProfileCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new DistributedProfileCache(new ConcurrentMapCacheManager(), meterRegistry);
+    }
+
+    private ProfileResponseDto load() {
+        loads.incrementAndGet();
+        return ProfileResponseDto.builder().fullName("Name " + loads.get()).role("USER").build();
+    }
+
+    @Test
+    void testSecondReadIsAHit() {
+        UUID id = UUID.randomUUID();
+
+        ProfileResponseDto first = cache.get("USER", id, this::load);
+        ProfileResponseDto second = cache.get("USER", id, this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        UUID id = UUID.randomUUID();
+        cache.get("USER", id, this::load);
+
+        cache.invalidate("USER", id);
+        ProfileResponseDto reloaded = cache.get("USER", id, this::load);
+
+        assertEquals("Name 2", reloaded.getFullName());
+    }
+}
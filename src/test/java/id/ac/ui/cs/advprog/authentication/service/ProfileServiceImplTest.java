@@ -2,28 +2,41 @@ package id.ac.ui.cs.advprog.authentication.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import id.ac.ui.cs.advprog.authentication.dto.AdminProfileView;
 import id.ac.ui.cs.advprog.authentication.dto.ProfileResponseDto;
 import id.ac.ui.cs.advprog.authentication.dto.ProfileUpdateDto;
-import id.ac.ui.cs.advprog.authentication.model.Admin;
-import id.ac.ui.cs.advprog.authentication.model.Technician;
-import id.ac.ui.cs.advprog.authentication.model.User;
+import id.ac.ui.cs.advprog.authentication.dto.PublicProfileView;
+import id.ac.ui.cs.advprog.authentication.dto.TechnicianProfileView;
+import id.ac.ui.cs.advprog.authentication.dto.UserProfileView;
+import id.ac.ui.cs.advprog.authentication.exception.InvalidRequestException;
 import id.ac.ui.cs.advprog.authentication.repository.AdminRepository;
 import id.ac.ui.cs.advprog.authentication.repository.TechnicianRepository;
 import id.ac.ui.cs.advprog.authentication.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class ProfileServiceImplTest {
@@ -37,7 +50,10 @@ class ProfileServiceImplTest {
     @Mock
     private AdminRepository adminRepository;
 
-    @InjectMocks
+    @Spy
+    private ProfileCache profileCache =
+            new LocalProfileCache(Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+
     private ProfileServiceImpl service;
 
     private UUID userId;
@@ -49,21 +65,15 @@ class ProfileServiceImplTest {
         userId = UUID.randomUUID();
         techId = UUID.randomUUID();
         adminId = UUID.randomUUID();
+        service = new ProfileServiceImpl(userRepository, technicianRepository, adminRepository, profileCache, 3);
     }
 
     @Test
     void updateProfileUser_allFields() throws Exception {
         // Arrange
-        User user = new User();
-        user.setId(userId);
-        user.setFullName("Old");
-        user.setEmail("u@example.com");
-        user.setPhoneNumber("111");
-        user.setAddress("Addr1");
-        user.setProfilePhoto("old.png");
-
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.of(
+                new UserProfileView("Old", "u@example.com", "111", "Addr1", "old.png", 0L)));
+        when(userRepository.updateProfile(userId, 0L, "New", "222", "Addr2", "new.png")).thenReturn(1);
 
         ProfileUpdateDto dto = new ProfileUpdateDto();
         dto.setFullName("New");
@@ -83,21 +93,15 @@ class ProfileServiceImplTest {
         assertNull(resp.getExperience());
         assertNull(resp.getTotalEarnings());
         assertNull(resp.getTotalJobsCompleted());
+        assertEquals(1L, resp.getVersion());
     }
 
     @Test
     void updateProfileUser_partial() throws Exception {
         // Arrange
-        User user = new User();
-        user.setId(userId);
-        user.setFullName("Old");
-        user.setEmail("u@example.com");
-        user.setPhoneNumber("111");
-        user.setAddress("Addr1");
-        user.setProfilePhoto("old.png");
-
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.of(
+                new UserProfileView("Old", "u@example.com", "111", "Addr1", "old.png", 4L)));
+        when(userRepository.updateProfile(userId, 4L, null, "333", null, null)).thenReturn(1);
 
         ProfileUpdateDto dto = new ProfileUpdateDto();
         dto.setPhoneNumber("333");
@@ -116,19 +120,9 @@ class ProfileServiceImplTest {
     @Test
     void updateProfileTechnician_allFields() throws Exception {
         // Arrange
-        Technician tech = new Technician();
-        tech.setId(techId);
-        tech.setFullName("TOld");
-        tech.setEmail("t@example.com");
-        tech.setPhoneNumber("444");
-        tech.setAddress("TAddr1");
-        tech.setProfilePhoto("told.png");
-        tech.setExperience(1);
-        tech.setTotalEarnings(100.0);
-        tech.setTotalJobsCompleted(2);
-
-        when(technicianRepository.findById(techId)).thenReturn(Optional.of(tech));
-        when(technicianRepository.save(any(Technician.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(technicianRepository.findProfileById(techId)).thenReturn(Optional.of(new TechnicianProfileView(
+                "TOld", "t@example.com", "444", "TAddr1", "told.png", 1, 2, 100.0, 0L)));
+        when(technicianRepository.updateProfile(techId, 0L, "TNew", null, null, null, 5)).thenReturn(1);
 
         ProfileUpdateDto dto = new ProfileUpdateDto();
         dto.setFullName("TNew");
@@ -151,19 +145,9 @@ class ProfileServiceImplTest {
     @Test
     void updateProfileTechnician_partial() throws Exception {
         // Arrange
-        Technician tech = new Technician();
-        tech.setId(techId);
-        tech.setFullName("TOld");
-        tech.setEmail("t@example.com");
-        tech.setPhoneNumber("444");
-        tech.setAddress("TAddr1");
-        tech.setProfilePhoto("told.png");
-        tech.setExperience(1);
-        tech.setTotalEarnings(100.0);
-        tech.setTotalJobsCompleted(2);
-
-        when(technicianRepository.findById(techId)).thenReturn(Optional.of(tech));
-        when(technicianRepository.save(any(Technician.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(technicianRepository.findProfileById(techId)).thenReturn(Optional.of(new TechnicianProfileView(
+                "TOld", "t@example.com", "444", "TAddr1", "told.png", 1, 2, 100.0, 0L)));
+        when(technicianRepository.updateProfile(techId, 0L, null, null, null, "tnew.png", null)).thenReturn(1);
 
         ProfileUpdateDto dto = new ProfileUpdateDto();
         dto.setProfilePhoto("tnew.png");
@@ -193,15 +177,8 @@ class ProfileServiceImplTest {
     @Test
     void getProfileUser() throws Exception {
         // Arrange
-        User user = new User();
-        user.setId(userId);
-        user.setFullName("UF");
-        user.setEmail("u2@example.com");
-        user.setPhoneNumber("666");
-        user.setAddress("UA");
-        user.setProfilePhoto("up.png");
-
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.of(
+                new UserProfileView("UF", "u2@example.com", "666", "UA", "up.png", 2L)));
 
         // Act
         ProfileResponseDto resp = service.getProfile(userId.toString(), "USER");
@@ -212,23 +189,15 @@ class ProfileServiceImplTest {
         assertEquals("666", resp.getPhoneNumber());
         assertEquals("UA", resp.getAddress());
         assertEquals("up.png", resp.getProfilePhoto());
+        assertEquals("USER", resp.getRole());
+        assertEquals(2L, resp.getVersion());
     }
 
     @Test
     void getProfileTechnician() throws Exception {
         // Arrange
-        Technician tech = new Technician();
-        tech.setId(techId);
-        tech.setFullName("TF");
-        tech.setEmail("t2@example.com");
-        tech.setPhoneNumber("777");
-        tech.setAddress("TA");
-        tech.setProfilePhoto("tp.png");
-        tech.setExperience(3);
-        tech.setTotalEarnings(200.0);
-        tech.setTotalJobsCompleted(4);
-
-        when(technicianRepository.findById(techId)).thenReturn(Optional.of(tech));
+        when(technicianRepository.findProfileById(techId)).thenReturn(Optional.of(
+                new TechnicianProfileView("TF", "t2@example.com", "777", "TA", "tp.png", 3, 4, 200.0, 0L)));
 
         // Act
         ProfileResponseDto resp = service.getProfile(techId.toString(), "TECHNICIAN");
@@ -247,13 +216,8 @@ class ProfileServiceImplTest {
     @Test
     void getProfileAdmin() throws Exception {
         // Arrange
-        Admin admin = new Admin();
-        admin.setId(adminId);
-        admin.setFullName("AF");
-        admin.setEmail("a2@example.com");
-        admin.setPhoneNumber("888");
-
-        when(adminRepository.findById(adminId)).thenReturn(Optional.of(admin));
+        when(adminRepository.findProfileById(adminId)).thenReturn(Optional.of(
+                new AdminProfileView("AF", "a2@example.com", "888", 0L)));
 
         // Act
         ProfileResponseDto resp = service.getProfile(adminId.toString(), "ADMIN");
@@ -284,7 +248,7 @@ class ProfileServiceImplTest {
 
     @Test
     void updateProfileUserNotFound_throwsException() {
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.empty());
 
         assertThrows(
                 Exception.class,
@@ -294,11 +258,171 @@ class ProfileServiceImplTest {
 
     @Test
     void getProfileUserNotFound_throwsException() {
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.empty());
 
         assertThrows(
                 Exception.class,
                 () -> service.getProfile(userId.toString(), "USER")
         );
     }
+
+    @Test
+    void getProfileServedFromCacheUntilUpdated() {
+        // Arrange
+        when(userRepository.updateProfile(userId, 0L, "Renamed", null, null, null)).thenReturn(1);
+        when(userRepository.findProfileById(userId)).thenReturn(
+                Optional.of(new UserProfileView("Cached", "c@example.com", null, null, null, 0L)),
+                Optional.of(new UserProfileView("Renamed", "c@example.com", null, null, null, 1L)));
+
+        // Act
+        service.getProfile(userId.toString(), "USER");
+        ProfileResponseDto cached = service.getProfile(userId.toString(), "user");
+
+        ProfileUpdateDto dto = new ProfileUpdateDto();
+        dto.setFullName("Renamed");
+        service.updateProfile(dto, userId.toString(), "USER");
+        ProfileResponseDto reloaded = service.getProfile(userId.toString(), "USER");
+
+        // Assert
+        assertEquals("Cached", cached.getFullName());
+        assertEquals("Renamed", reloaded.getFullName());
+        verify(userRepository, times(2)).findProfileById(userId);
+        verify(profileCache).invalidate("USER", userId);
+    }
+
+    @Test
+    void updateProfileInvalidatesCacheOnlyAfterCommit() {
+        // Arrange
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.of(
+                new UserProfileView("Old", "u@example.com", null, null, null, 0L)));
+        when(userRepository.updateProfile(userId, 0L, "New", null, null, null)).thenReturn(1);
+        ProfileUpdateDto dto = new ProfileUpdateDto();
+        dto.setFullName("New");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            service.updateProfile(dto, userId.toString(), "USER");
+            ProfileResponseDto beforeCommit = service.getProfile(userId.toString(), "USER");
+            verify(profileCache, never()).invalidate(any(), any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Assert
+            assertEquals("Old", beforeCommit.getFullName());
+            verify(profileCache).invalidate("USER", userId);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void updateProfileRolledBack_keepsCacheEntry() {
+        // Arrange
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.of(
+                new UserProfileView("Old", "u@example.com", null, null, null, 0L)));
+        when(userRepository.updateProfile(userId, 0L, "New", null, null, null)).thenReturn(1);
+        ProfileUpdateDto dto = new ProfileUpdateDto();
+        dto.setFullName("New");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            service.updateProfile(dto, userId.toString(), "USER");
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            // Assert
+            verify(profileCache, never()).invalidate(any(), any());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void updateProfileFromCachedProfile_skipsRead() {
+        // Arrange
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.of(
+                new UserProfileView("Old", "u@example.com", "111", null, null, 3L)));
+        when(userRepository.updateProfile(userId, 3L, "New", null, null, null)).thenReturn(1);
+        service.getProfile(userId.toString(), "USER");
+
+        ProfileUpdateDto dto = new ProfileUpdateDto();
+        dto.setFullName("New");
+
+        // Act
+        ProfileResponseDto resp = service.updateProfile(dto, userId.toString(), "USER");
+
+        // Assert
+        assertEquals("New", resp.getFullName());
+        assertEquals(4L, resp.getVersion());
+        verify(userRepository, times(1)).findProfileById(userId);
+    }
+
+    @Test
+    void updateProfileStaleVersion_retriesWithFreshRow() {
+        // Arrange
+        when(userRepository.findProfileById(userId)).thenReturn(
+                Optional.of(new UserProfileView("Old", "u@example.com", "111", null, null, 3L)),
+                Optional.of(new UserProfileView("Other", "u@example.com", "999", null, null, 5L)));
+        when(userRepository.updateProfile(userId, 3L, "New", null, null, null)).thenReturn(0);
+        when(userRepository.updateProfile(userId, 5L, "New", null, null, null)).thenReturn(1);
+
+        ProfileUpdateDto dto = new ProfileUpdateDto();
+        dto.setFullName("New");
+
+        // Act
+        ProfileResponseDto resp = service.updateProfile(dto, userId.toString(), "USER");
+
+        // Assert
+        assertEquals("New", resp.getFullName());
+        assertEquals("999", resp.getPhoneNumber());
+        assertEquals(6L, resp.getVersion());
+    }
+
+    @Test
+    void updateProfileKeepsConflicting_throwsConcurrentUpdate() {
+        // Arrange
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.of(
+                new UserProfileView("Old", "u@example.com", "111", null, null, 3L)));
+        when(userRepository.updateProfile(any(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        // Act
+        InvalidRequestException e = assertThrows(
+                InvalidRequestException.class,
+                () -> service.updateProfile(new ProfileUpdateDto(), userId.toString(), "USER"));
+
+        // Assert
+        assertSame(InvalidRequestException.CONCURRENT_PROFILE_UPDATE, e);
+        verify(userRepository, times(3)).updateProfile(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void forEachPublicProfile_readsUsersAndTechnicians() {
+        // Arrange
+        List<UUID> ids = List.of(userId, techId);
+        PublicProfileView user = new PublicProfileView(userId, "USER", "U", "u.png");
+        PublicProfileView tech = new PublicProfileView(techId, "TECHNICIAN", "T", "t.png", 3, 4);
+        when(userRepository.streamPublicProfilesByIdIn(ids)).thenReturn(Stream.of(user));
+        when(technicianRepository.streamPublicProfilesByIdIn(ids)).thenReturn(Stream.of(tech));
+        List<PublicProfileView> seen = new ArrayList<>();
+
+        // Act
+        service.forEachPublicProfile(ids, seen::add);
+
+        // Assert
+        assertEquals(List.of(user, tech), seen);
+    }
+
+    @Test
+    void forEachPublicProfile_tooManyIds_throwsBeforeQuerying() {
+        // Arrange
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        // Act
+        InvalidRequestException e = assertThrows(
+                InvalidRequestException.class,
+                () -> service.forEachPublicProfile(ids, profile -> { }));
+
+        // Assert
+        assertSame(InvalidRequestException.BATCH_TOO_LARGE, e);
+        verify(userRepository, never()).streamPublicProfilesByIdIn(any());
+    }
 }
@@ -0,0 +1,118 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import id.ac.ui.cs.advprog.authentication.exception.InvalidRefreshTokenException;
+import id.ac.ui.cs.advprog.authentication.model.RefreshToken;
+import id.ac.ui.cs.advprog.authentication.repository.RefreshTokenRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceImplTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenServiceImpl(refreshTokenRepository, 60000);
+    }
+
+    private RefreshToken stored(UUID familyId, UUID accountId, Instant expiresAt) {
+        RefreshToken token = new RefreshToken("hash", familyId, accountId, "USER", expiresAt);
+        token.setId(UUID.randomUUID());
+        return token;
+    }
+
+    @Test
+    void issueStoresHashNotRawToken() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+
+        // Act
+        String raw = service.issue(accountId, "USER");
+
+        // Assert
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(64, saved.getValue().getTokenHash().length());
+        assertNotEquals(raw, saved.getValue().getTokenHash());
+        assertEquals(accountId, saved.getValue().getAccountId());
+    }
+
+    @Test
+    void rotateIssuesNextTokenInSameFamily() {
+        // Arrange
+        UUID familyId = UUID.randomUUID();
+        UUID accountId = UUID.randomUUID();
+        RefreshToken current = stored(familyId, accountId, Instant.now().plusSeconds(60));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(current.getId())).thenReturn(1);
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+
+        // Act
+        RefreshTokenService.Rotation rotation = service.rotate("raw");
+
+        // Assert
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(familyId, saved.getValue().getFamilyId());
+        assertEquals(accountId, rotation.accountId());
+        assertEquals("USER", rotation.role());
+    }
+
+    @Test
+    void rotateUnknownTokenFails() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        InvalidRefreshTokenException ex = assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("raw"));
+        assertEquals("Invalid refresh token", ex.getMessage());
+    }
+
+    @Test
+    void rotateReusedTokenRevokesFamily() {
+        // Arrange
+        UUID familyId = UUID.randomUUID();
+        RefreshToken current = stored(familyId, UUID.randomUUID(), Instant.now().plusSeconds(60));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(current.getId())).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("raw"));
+        verify(refreshTokenRepository).revokeFamily(familyId);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotateExpiredTokenFails() {
+        // Arrange
+        RefreshToken current = stored(UUID.randomUUID(), UUID.randomUUID(), Instant.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(current.getId())).thenReturn(1);
+
+        // Act & Assert
+        InvalidRefreshTokenException ex = assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("raw"));
+        assertEquals("Refresh token has expired", ex.getMessage());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,156 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import id.ac.ui.cs.advprog.authentication.repository.CredentialRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class RegisteredEmailFilterTest {
+
+    @Mock
+    private CredentialRepository credentialRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RegisteredEmailFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RegisteredEmailFilter(credentialRepository, transactionManager, 100, 0.01, 60_000, meterRegistry);
+    }
+
+    @Test
+    void testBeforeLoadEveryEmailPassesThrough() {
+        assertTrue(filter.mightBeRegistered("anyone@example.com"));
+    }
+
+    @Test
+    void testLoadRejectsUnknownEmails() {
+        // Arrange
+        when(credentialRepository.count()).thenReturn(2L);
+        when(credentialRepository.streamAllEmails())
+                .thenReturn(Stream.of("a@example.com", "b@example.com"));
+
+        // Act
+        filter.load();
+
+        // Assert
+        assertTrue(filter.mightBeRegistered("a@example.com"));
+        assertFalse(filter.mightBeRegistered("ghost@example.com"));
+        assertEquals(1.0, meterRegistry.get("login.email.filter.rejected").counter().count());
+        assertTrue(meterRegistry.get("login.email.filter.memory").gauge().value() > 0);
+    }
+
+    @Test
+    void testAddedAndSyncedEmailsAreKnown() {
+        // Arrange
+        when(credentialRepository.count()).thenReturn(0L);
+        when(credentialRepository.streamAllEmails()).thenReturn(Stream.empty());
+        when(credentialRepository.findEmailsCreatedAfter(any())).thenReturn(List.of("remote@example.com"));
+        filter.load();
+
+        // Act
+        filter.add("local@example.com");
+        filter.syncRegistrations();
+
+        // Assert
+        assertTrue(filter.mightBeRegistered("local@example.com"));
+        assertTrue(filter.mightBeRegistered("remote@example.com"));
+    }
+
+    @Test
+    void testMissOnFreshFilterIsTrustedWithoutQuery() {
+        // Arrange
+        when(credentialRepository.count()).thenReturn(0L);
+        when(credentialRepository.streamAllEmails()).thenReturn(Stream.empty());
+        filter.load();
+
+        // Act
+        boolean mightBeRegistered = filter.mightBeRegistered("ghost@example.com");
+
+        // Assert
+        assertFalse(mightBeRegistered);
+        verify(credentialRepository, never()).findEmailsCreatedAfter(any());
+    }
+
+    @Test
+    void testMissOnStaleFilterSyncsFirst() {
+        // Arrange
+        RegisteredEmailFilter stale = staleFilter();
+        when(credentialRepository.findEmailsCreatedAfter(any())).thenReturn(List.of("remote@example.com"));
+
+        // Act & Assert
+        assertTrue(stale.mightBeRegistered("remote@example.com"));
+    }
+
+    @Test
+    void testFailedSyncOnStaleFilterPassesThrough() {
+        // Arrange
+        RegisteredEmailFilter stale = staleFilter();
+        when(credentialRepository.findEmailsCreatedAfter(any())).thenThrow(new IllegalStateException("down"));
+
+        // Act & Assert
+        assertTrue(stale.mightBeRegistered("anyone@example.com"));
+    }
+
+    @Test
+    void testEmailsAddedDuringRebuildAreKept() {
+        // Arrange
+        when(credentialRepository.count()).thenReturn(1L);
+        when(credentialRepository.streamAllEmails()).thenAnswer(invocation -> {
+            filter.add("during@example.com");
+            return Stream.of("a@example.com");
+        });
+
+        // Act
+        filter.load();
+
+        // Assert
+        assertTrue(filter.mightBeRegistered("during@example.com"));
+        assertTrue(filter.mightBeRegistered("a@example.com"));
+        verify(credentialRepository, never()).findEmailsCreatedAfter(any());
+    }
+
+    @Test
+    void testFailedLoadKeepsPassingThrough() {
+        // Arrange
+        when(credentialRepository.count()).thenReturn(1L);
+        when(credentialRepository.streamAllEmails()).thenThrow(new IllegalStateException("down"));
+
+        // Act
+        filter.load();
+
+        // Assert
+        assertTrue(filter.mightBeRegistered("anyone@example.com"));
+    }
+
+    /** A loaded filter whose sync interval has always already passed. */
+    private RegisteredEmailFilter staleFilter() {
+        when(credentialRepository.count()).thenReturn(0L);
+        when(credentialRepository.streamAllEmails()).thenReturn(Stream.empty());
+        RegisteredEmailFilter stale = new RegisteredEmailFilter(
+                credentialRepository, transactionManager, 100, 0.01, -1, new SimpleMeterRegistry());
+        stale.load();
+        return stale;
+    }
+}
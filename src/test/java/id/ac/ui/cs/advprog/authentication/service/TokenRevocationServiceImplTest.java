@@ -0,0 +1,108 @@
+package id.ac.ui.cs.advprog.authentication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import id.ac.ui.cs.advprog.authentication.model.RevokedToken;
+import id.ac.ui.cs.advprog.authentication.repository.RevokedTokenRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceImplTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TokenRevocationServiceImpl(revokedTokenRepository, 1000, 0.01);
+    }
+
+    @Test
+    void revokedTokenIsRejected() {
+        // Act
+        service.revoke("jti-1", Instant.now().plusSeconds(60));
+
+        // Assert
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+        assertTrue(service.isRevoked("jti-1"));
+        assertFalse(service.isRevoked("jti-2"));
+    }
+
+    @Test
+    void tokensWithoutIdAreNeverRevoked() {
+        // Act
+        service.revoke(null, Instant.now().plusSeconds(60));
+
+        // Assert
+        verify(revokedTokenRepository, never()).save(any());
+        assertFalse(service.isRevoked(null));
+    }
+
+    @Test
+    void alreadyExpiredTokenIsNotStored() {
+        // Act
+        service.revoke("jti-1", Instant.now().minusSeconds(1));
+
+        // Assert
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void startupLoadsUnexpiredRevocations() {
+        // Arrange
+        when(revokedTokenRepository.findByExpiresAtAfter(any()))
+                .thenReturn(List.of(new RevokedToken("jti-1", Instant.now().plusSeconds(60), Instant.now())));
+
+        // Act
+        service.loadRevocations();
+
+        // Assert
+        assertTrue(service.isRevoked("jti-1"));
+    }
+
+    @Test
+    void syncPicksUpRevocationsFromOtherNodes() {
+        // Arrange
+        when(revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(any(), any()))
+                .thenReturn(List.of(new RevokedToken("jti-remote", Instant.now().plusSeconds(60), Instant.now())));
+
+        // Act
+        service.syncRevocations();
+
+        // Assert
+        assertTrue(service.isRevoked("jti-remote"));
+    }
+
+    @Test
+    void purgeForgetsExpiredRevocations() throws Exception {
+        // Arrange
+        service.revoke("jti-short", Instant.now().plusMillis(50));
+        service.revoke("jti-long", Instant.now().plusSeconds(60));
+        Thread.sleep(100);
+
+        // Act
+        service.purgeExpired();
+
+        // Assert
+        assertFalse(service.isRevoked("jti-short"));
+        assertTrue(service.isRevoked("jti-long"));
+        assertEquals(1, service.size());
+        verify(revokedTokenRepository).deleteExpiredBefore(any());
+    }
+}
@@ -0,0 +1,62 @@
+package id.ac.ui.cs.advprog.authentication.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void testAddedValuesAreAlwaysFound() {
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        String[] values = new String[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.put(values[i]);
+        }
+
+        for (String value : values) {
+            assertTrue(filter.mightContain(value));
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTarget() {
+        BloomFilter filter = BloomFilter.create(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("present-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2000, "False positive rate too high: " + falsePositives);
+    }
+
+    @Test
+    void testCurrentFppTracksFill() {
+        BloomFilter filter = BloomFilter.create(10000, 0.01);
+        assertEquals(0.0, filter.currentFpp());
+
+        for (int i = 0; i < 10000; i++) {
+            filter.put("present-" + i);
+        }
+
+        assertTrue(filter.currentFpp() > 0.005 && filter.currentFpp() < 0.02,
+                "Unexpected estimate: " + filter.currentFpp());
+        assertEquals(filter.bitSize() / 8, filter.memoryBytes());
+    }
+
+    @Test
+    void testInvalidFalsePositiveRateRejected() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 1.0));
+    }
+}
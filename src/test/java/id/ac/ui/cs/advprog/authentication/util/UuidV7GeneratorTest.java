@@ -0,0 +1,43 @@
+package id.ac.ui.cs.advprog.authentication.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void testNext_SetsVersionAndVariant() {
+        UUID id = UuidV7Generator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void testNext_EmbedsCurrentTimeInMilliseconds() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        // The counter may carry a few milliseconds ahead when many ids were made just before.
+        assertTrue(timestamp >= before && timestamp <= after + 1000, "timestamp " + timestamp);
+    }
+
+    @Test
+    void testNext_IdsSortInCreationOrder() {
+        // More ids than fit the 12-bit counter of a single millisecond.
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID id = UuidV7Generator.next();
+            assertTrue(Long.compareUnsigned(id.getMostSignificantBits(), previous.getMostSignificantBits()) > 0,
+                    previous + " should sort before " + id);
+            assertTrue(id.toString().compareTo(previous.toString()) > 0);
+            previous = id;
+        }
+    }
+}